@@ -0,0 +1,64 @@
+package com.fileextension.proj.benchmark;
+
+import com.fileextension.proj.ProjApplication;
+import com.fileextension.proj.dto.ExtensionRequestDto;
+import com.fileextension.proj.service.ExtensionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2(메모리)로 애플리케이션을 띄워 ExtensionServiceImpl.isExtensionBlocked 측정
+ * ./gradlew jmh -PjmhInclude=ExtensionServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ExtensionServiceBenchmark {
+
+    // 커스텀 확장자 수 (차단 대상 "bench" 포함, 최대 200)
+    @Param({"1", "50", "200"})
+    public int customExtensions;
+
+    private ConfigurableApplicationContext context;
+    private ExtensionService extensionService;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(ProjApplication.class)
+                .profiles("local")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.fileextension.proj=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "file.upload.dir=" + Files.createTempDirectory("jmh-uploads"))
+                .run();
+        extensionService = context.getBean(ExtensionService.class);
+
+        extensionService.addCustomExtension(new ExtensionRequestDto("bench"));
+        for (int i = 1; i < customExtensions; i++) {
+            extensionService.addCustomExtension(new ExtensionRequestDto("ext" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean blockedHit() {
+        return extensionService.isExtensionBlocked("bench");
+    }
+
+    @Benchmark
+    public boolean blockedMiss() {
+        return extensionService.isExtensionBlocked("pdf");
+    }
+}
@@ -0,0 +1,119 @@
+package com.fileextension.proj.benchmark;
+
+import com.fileextension.proj.config.common.utils.FileValidationUtils;
+import com.fileextension.proj.config.common.utils.ScriptPatternMatcher;
+import com.fileextension.proj.service.blocklist.BlocklistSnapshot;
+import com.fileextension.proj.service.signature.MagicSignatureTable;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드마다 실행되는 파일명/매직 바이트 검증 경로
+ * ./gradlew jmh -PjmhInclude=FileValidationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FileValidationBenchmark {
+
+    private static final List<String> FIXED_EXTENSIONS = List.of("bat", "cmd", "com", "cpl", "exe", "scr", "js");
+
+    @State(Scope.Benchmark)
+    public static class FilenameState {
+
+        // 파일명의 점 개수 (report.txt = 1, report.part1.part2.part3.txt = 4)
+        @Param({"1", "4", "16"})
+        public int dotDepth;
+
+        // 차단 목록 크기 (고정 7개 + 커스텀)
+        @Param({"7", "50", "200"})
+        public int blocklistSize;
+
+        private String filename;
+        private BlocklistSnapshot snapshot;
+
+        @Setup
+        public void setUp() {
+            StringBuilder name = new StringBuilder("report");
+            for (int i = 1; i < dotDepth; i++) {
+                name.append(".part").append(i);
+            }
+            filename = name.append(".txt").toString();
+
+            List<String> blocked = new ArrayList<>(FIXED_EXTENSIONS);
+            for (int i = 0; blocked.size() < blocklistSize; i++) {
+                blocked.add("ext" + i);
+            }
+            snapshot = BlocklistSnapshot.of(1, blocked);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HeaderState {
+
+        // 업로드 본문 앞부분 종류
+        @Param({"pdf", "png", "pe", "script", "text"})
+        public String header;
+
+        private byte[] headerBytes;
+        private MockMultipartFile file;
+        private MagicSignatureTable signatures;
+
+        @Setup
+        public void setUp() {
+            headerBytes = headerContent(header);
+            file = new MockMultipartFile("file", "upload.txt", "application/octet-stream", headerBytes);
+            signatures = MagicSignatureTable.builtIn();
+        }
+    }
+
+    @Benchmark
+    public String getFileExtensionFromMagicBytes(HeaderState state) throws IOException {
+        return FileValidationUtils.getFileExtensionFromMagicBytes(state.file, state.signatures);
+    }
+
+    @Benchmark
+    public String getFileExtensionFromHeader(HeaderState state) {
+        return FileValidationUtils.getFileExtensionFromHeader("upload.txt", state.headerBytes, state.headerBytes.length, state.signatures);
+    }
+
+    // 기존 getScriptType 대체 (Aho-Corasick 스크립트 패턴 검사)
+    @Benchmark
+    public ScriptPatternMatcher.ScriptFamily scriptType(HeaderState state) {
+        return ScriptPatternMatcher.getDefault().match(state.headerBytes, 0,
+                Math.min(state.headerBytes.length, FileValidationUtils.SCRIPT_INSPECTION_WINDOW));
+    }
+
+    @Benchmark
+    public boolean hasDangerousExtensionInFilename(FilenameState state) {
+        return FileValidationUtils.hasDangerousExtensionInFilename(state.filename, state.snapshot);
+    }
+
+    private static byte[] headerContent(String type) {
+        byte[] content = new byte[1024];
+        byte[] prefix = switch (type) {
+            case "pdf" -> "%PDF-1.7\n%âãÏÓ\n".getBytes(StandardCharsets.ISO_8859_1);
+            case "png" -> new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+            case "pe" -> new byte[]{'M', 'Z', (byte) 0x90, 0};
+            case "script" -> "@echo off\r\nset PATH=%PATH%;C:\\tools\r\n".getBytes(StandardCharsets.US_ASCII);
+            default -> "Lorem ipsum dolor sit amet, consectetur adipiscing elit.\n".getBytes(StandardCharsets.US_ASCII);
+        };
+        System.arraycopy(prefix, 0, content, 0, prefix.length);
+        if (type.equals("pe")) {
+            // e_lfanew -> "PE\0\0"
+            content[0x3C] = (byte) 0x80;
+            content[0x80] = 'P';
+            content[0x81] = 'E';
+        } else if (!type.equals("png")) {
+            for (int i = prefix.length; i < content.length; i++) {
+                content[i] = (byte) ('a' + i % 26);
+            }
+        }
+        return content;
+    }
+}
@@ -0,0 +1,87 @@
+package com.fileextension.proj.benchmark;
+
+import com.fileextension.proj.config.common.utils.FileUtils;
+import com.fileextension.proj.service.storage.UniqueFilenameAllocator;
+import com.fileextension.proj.service.storage.UploadDirectoryIndex;
+import com.fileextension.proj.service.storage.UploadStorageLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 중복 파일명 처리 - 기존 exists() 반복 방식과 원자적 선점 방식 비교
+ * 두 방식 모두 실제 임시 디렉토리에 파일을 만들고, 호출마다 만든 파일을 지우고 할당기를 새로 만들어
+ * 매 호출이 collisions개의 같은 이름 파일이 있는 상태에서 시작합니다.
+ * ./gradlew jmh -PjmhInclude=UniqueFilenameBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class UniqueFilenameBenchmark {
+
+    private static final String FILENAME = "report.pdf";
+
+    // 이미 있는 같은 이름 파일 수 (report.pdf, report-1.pdf, ...)
+    @Param({"0", "10", "100"})
+    public int collisions;
+
+    private Path directory;
+    private UploadStorageLayout layout;
+    private UploadDirectoryIndex directoryIndex;
+    private UniqueFilenameAllocator allocator;
+    private String created;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jmh-uploads");
+        for (int i = 0; i < collisions; i++) {
+            String name = i == 0 ? FILENAME : "report-" + i + ".pdf";
+            Files.createFile(directory.resolve(name));
+        }
+
+        layout = new UploadStorageLayout(directory.toString(), "flat");
+        directoryIndex = new UploadDirectoryIndex(layout);
+        directoryIndex.init();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetInvocation() throws IOException {
+        // 이전 호출에서 만든 파일을 지워 충돌 수를 유지
+        if (created != null) {
+            Files.deleteIfExists(directory.resolve(created));
+            directoryIndex.onDeleted(created);
+            created = null;
+        }
+        // 카운터가 호출마다 올라가지 않도록 새 할당기 사용 (첫 충돌 시 파일 목록에서 번호 계산)
+        allocator = new UniqueFilenameAllocator(layout, directoryIndex);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        directoryIndex.shutdown();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // 기존 방식: 이름마다 exists() 호출 (충돌 수만큼 stat) 후 파일 생성
+    @Benchmark
+    public String generateUniqueFilename() throws IOException {
+        String name = FileUtils.generateUniqueFilename(FILENAME, directory.toFile());
+        Files.createFile(directory.resolve(name));
+        created = name;
+        return name;
+    }
+
+    // 카운터 방식: CREATE_NEW로 이름 선점
+    @Benchmark
+    public String allocate() throws IOException {
+        created = allocator.reserve(FILENAME);
+        return created;
+    }
+}
@@ -2,6 +2,8 @@ package com.fileextension.proj.config;
 
 import com.fileextension.proj.entity.FixedExtension;
 import com.fileextension.proj.repository.FixedExtensionRepository;
+import com.fileextension.proj.service.blocklist.BlocklistChangeLog;
+import com.fileextension.proj.service.blocklist.BlocklistSnapshotHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +22,8 @@ import java.util.List;
 public class DataInitializer implements CommandLineRunner {
 
     private final FixedExtensionRepository fixedExtensionRepository;
+    private final BlocklistSnapshotHolder blocklistSnapshotHolder;
+    private final BlocklistChangeLog blocklistChangeLog;
     
     @Value("${file.upload.dir}")
     private String uploadDir;
@@ -30,6 +34,10 @@ public class DataInitializer implements CommandLineRunner {
         ensureUploadDirectoryExists();
         
         initializeFixedExtensions();
+        blocklistChangeLog.initialize();
+
+        // 초기 데이터 기준으로 차단 목록 스냅샷 로딩
+        blocklistSnapshotHolder.reload();
     }
 
     /**
@@ -0,0 +1,25 @@
+package com.fileextension.proj.config;
+
+import com.fileextension.proj.config.common.interceptor.UploadAdmissionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final UploadAdmissionInterceptor uploadAdmissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 디스크에 쓰는 업로드 경로만 동시 실행 제한
+        registry.addInterceptor(uploadAdmissionInterceptor)
+                .addPathPatterns(
+                        "/api/files/upload",
+                        "/api/files/upload/**",
+                        "/api/files/link",
+                        "/api/files/sessions/**");
+    }
+}
@@ -0,0 +1,11 @@
+package com.fileextension.proj.config.common.exception;
+
+/**
+ * 업로드 검증 단계에서 파일이 거부되었을 때 발생합니다. 메시지는 사용자에게 그대로 전달됩니다.
+ */
+public class FileRejectedException extends RuntimeException {
+
+    public FileRejectedException(String message) {
+        super(message);
+    }
+}
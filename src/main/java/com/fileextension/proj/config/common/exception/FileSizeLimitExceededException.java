@@ -0,0 +1,11 @@
+package com.fileextension.proj.config.common.exception;
+
+/**
+ * 업로드 본문이 허용 크기를 넘었을 때 발생합니다.
+ */
+public class FileSizeLimitExceededException extends FileRejectedException {
+
+    public FileSizeLimitExceededException(String message) {
+        super(message);
+    }
+}
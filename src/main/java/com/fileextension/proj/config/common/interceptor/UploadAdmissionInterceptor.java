@@ -0,0 +1,142 @@
+package com.fileextension.proj.config.common.interceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.service.metrics.UploadMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드(디스크 쓰기) 요청의 동시 실행 수를 제한합니다.
+ * 허용 수를 넘으면 정해진 수만큼만 대기열에서 기다리게 하고, 대기열이 가득 찼거나 대기 시간이 지나면
+ * 503 + Retry-After로 바로 거절합니다. 업로드가 몰려도 Tomcat 스레드가 모두 묶이지 않으므로
+ * 조회 API와 헬스 체크는 계속 응답합니다.
+ */
+@Component
+@Slf4j
+public class UploadAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = UploadAdmissionInterceptor.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int maxQueue;
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+    private final ObjectMapper objectMapper;
+    private final UploadMetrics uploadMetrics;
+
+    public UploadAdmissionInterceptor(@Value("${file.upload.admission.max-concurrent:16}") int maxConcurrent,
+                                      @Value("${file.upload.admission.max-queue:64}") int maxQueue,
+                                      @Value("${file.upload.admission.queue-timeout:5s}") Duration queueTimeout,
+                                      @Value("${file.upload.admission.retry-after:5s}") Duration retryAfter,
+                                      ObjectMapper objectMapper,
+                                      UploadMetrics uploadMetrics) {
+        // 공정 모드: 먼저 기다린 요청부터 처리
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueue = maxQueue;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+        this.objectMapper = objectMapper;
+        this.uploadMetrics = uploadMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // 본문을 쓰는 요청만 제한 (조회/삭제는 통과)
+        String method = request.getMethod();
+        if (!"POST".equals(method) && !"PUT".equals(method)) {
+            return true;
+        }
+
+        if (permits.tryAcquire()) {
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+            return true;
+        }
+
+        // 대기열이 가득 차면 바로 거절
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            reject(response, "업로드 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting.decrementAndGet();
+        }
+        reject(response, "업로드 대기 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+
+    /**
+     * 이미 허용된 요청(일괄 업로드)이 파일을 병렬로 저장할 때, 요청이 가진 허가 외에 추가로 쓸 허가를 가져갑니다.
+     * 기다리지 않고 지금 남아 있는 만큼만(최대 count개) 가져가며, 대기 중인 요청보다 앞지르지 않습니다.
+     * 가져간 수를 반환하고, 다 쓰면 releaseExtra로 반납해야 합니다.
+     */
+    public int tryAcquireExtra(int count) {
+        int acquired = 0;
+        try {
+            // tryAcquire()는 공정 모드에서도 대기열을 앞지르므로 timeout 0 버전 사용
+            while (acquired < count && permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return acquired;
+    }
+
+    public void releaseExtra(int count) {
+        if (count > 0) {
+            permits.release(count);
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        log.warn("업로드 요청 거절 (대기 {}명): {}", waiting.get(), message);
+        uploadMetrics.rejected(UploadMetrics.Rejection.ADMISSION);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+        // 받지 않은 요청 본문 때문에 연결이 묶이지 않도록 닫음
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiResponseDto.error(message, HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+}
@@ -7,6 +7,7 @@ public class FileUtils {
     /**
      * 중복 파일명을 처리하여 고유한 파일명을 생성합니다.
      * 방법: 넘버링 방식 (-1, -2, -3...)
+     * 이름 확인과 저장이 분리되어 있어 동시 업로드에는 안전하지 않습니다. 저장 시에는 UniqueFilenameAllocator를 사용합니다.
      */
     public static String generateUniqueFilename(String originalFilename, File directory) {
         if (originalFilename == null) return "";
@@ -0,0 +1,71 @@
+package com.fileextension.proj.config.common.utils;
+
+/**
+ * 파일명을 마침표 기준으로 나눈 각 조각이 확장자 셋에 포함되는지 한 번의 순회로 검사합니다.
+ * split/toLowerCase/substring 없이 문자를 읽으면서 바로 패킹하므로 힙 할당이 없습니다.
+ */
+public final class FilenameTokenizer {
+
+    private FilenameTokenizer() {
+    }
+
+    /**
+     * text[from, to) 구간의 마침표로 구분된 조각 중 하나라도 셋에 포함되면 true를 반환합니다.
+     * 각 조각은 소문자 변환 + 앞뒤 공백 제거 후 비교합니다. (기존 split + normalizeExtensionName과 동일)
+     */
+    public static boolean anySegmentIn(CharSequence text, int from, int to, PackedExtensionSet set) {
+        if (set.size() == 0) {
+            return false;
+        }
+
+        int segmentStart = from;
+        long hi = 0;
+        long lo = 0;
+        int length = 0;
+        boolean packable = true;
+        boolean trailingBlank = false;
+
+        for (int i = from; i <= to; i++) {
+            char c = i < to ? text.charAt(i) : '.';
+
+            if (c == '.') {
+                if (packable && length > 0) {
+                    if (set.containsPacked(hi, lo)) {
+                        return true;
+                    }
+                } else if (!packable && set.hasUnpackable() && set.containsUnpackable(text, segmentStart, i)) {
+                    return true;
+                }
+                segmentStart = i + 1;
+                hi = 0;
+                lo = 0;
+                length = 0;
+                packable = true;
+                trailingBlank = false;
+                continue;
+            }
+
+            if (!packable) {
+                continue;
+            }
+
+            if (PackedExtensionSet.isBlank(c)) {
+                // 앞쪽 공백은 무시하고, 글자 뒤에 나온 공백은 조각 끝의 공백인지 지켜봅니다.
+                trailingBlank = length > 0;
+                continue;
+            }
+
+            int d = PackedExtensionSet.digit(c);
+            if (trailingBlank || d < 0 || ++length > PackedExtensionSet.MAX_PACKED_LENGTH) {
+                packable = false;
+                continue;
+            }
+            if (length <= PackedExtensionSet.HI_CHARS) {
+                hi = hi * PackedExtensionSet.RADIX + d;
+            } else {
+                lo = lo * PackedExtensionSet.RADIX + d;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,370 @@
+package com.fileextension.proj.config.common.utils;
+
+import com.fileextension.proj.config.common.exception.FileRejectedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * multipart/form-data 요청 본문을 스트리밍으로 읽는 파서입니다.
+ * 파트 헤더만 먼저 읽어 파일명을 확인할 수 있으므로, 본문 전체를 버퍼링/스풀링하기 전에 거부할 수 있습니다.
+ * 한 번에 하나의 파트만 읽을 수 있으며, 다음 파트로 넘어가면 이전 파트의 남은 본문은 버립니다.
+ */
+public class MultipartStreamParser {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final InputStream in;
+    private final byte[] delimiter;      // "\r\n--" + boundary
+    private final int maxHeaderSize;
+    private final byte[] buffer;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean finished;
+    private boolean started;
+    private PartInputStream currentBody;
+
+    public MultipartStreamParser(InputStream in, String boundary, int maxHeaderSize) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.maxHeaderSize = maxHeaderSize;
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+    }
+
+    /**
+     * Content-Type 헤더에서 boundary 값을 꺼냅니다. 없으면 null을 반환합니다.
+     */
+    public static String extractBoundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.toLowerCase(Locale.ROOT).startsWith("boundary=")) {
+                String value = trimmed.substring("boundary=".length());
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 다음 파트의 헤더를 읽어 반환합니다. 더 이상 파트가 없으면 null을 반환합니다.
+     */
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            skipPreamble();
+            started = true;
+        } else {
+            // 읽다 만 이전 파트 본문 버리기
+            if (currentBody != null) {
+                currentBody.skipRemaining();
+            }
+        }
+        if (finished) {
+            return null;
+        }
+
+        Part part = readHeaders();
+        currentBody = new PartInputStream();
+        part.body = currentBody;
+        return part;
+    }
+
+    // 첫 boundary 이전 내용은 버림. 첫 구분자는 앞에 CRLF가 없을 수 있으므로 가상의 CRLF를 붙여 같은 방식으로 찾습니다.
+    private void skipPreamble() throws IOException {
+        System.arraycopy(CRLF, 0, buffer, 0, CRLF.length);
+        limit = CRLF.length;
+        pos = 0;
+        PartInputStream preamble = new PartInputStream();
+        preamble.skipRemaining();
+    }
+
+    // 구분자 바로 뒤: "--"이면 마지막, CRLF면 다음 파트
+    private void afterDelimiter() throws IOException {
+        ensure(2);
+        if (limit - pos < 2) {
+            finished = true;
+            return;
+        }
+        byte first = buffer[pos];
+        byte second = buffer[pos + 1];
+        pos += 2;
+        if (first == '-' && second == '-') {
+            finished = true;
+            return;
+        }
+        if (first != '\r' || second != '\n') {
+            // 구분자 뒤 공백(transport padding) 허용
+            while (true) {
+                ensure(1);
+                if (pos >= limit) {
+                    throw new IOException("잘못된 multipart 구분자입니다.");
+                }
+                if (buffer[pos] == '\n') {
+                    pos++;
+                    return;
+                }
+                pos++;
+            }
+        }
+    }
+
+    private Part readHeaders() throws IOException {
+        Part part = new Part();
+        int total = 0;
+        while (true) {
+            String line = readLine();
+            if (line == null) {
+                throw new IOException("multipart 헤더가 끝나기 전에 요청이 종료되었습니다.");
+            }
+            total += line.length() + 2;
+            if (total > maxHeaderSize) {
+                throw new IOException("multipart 헤더가 너무 큽니다.");
+            }
+            if (line.isEmpty()) {
+                return part;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (name.equals("content-disposition")) {
+                parseContentDisposition(part, value);
+            } else if (name.equals("content-type")) {
+                part.contentType = value;
+            }
+        }
+    }
+
+    private String readLine() throws IOException {
+        while (true) {
+            for (int i = pos; i + 1 < limit; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, pos, i - pos, StandardCharsets.UTF_8);
+                    pos = i + 2;
+                    return line;
+                }
+            }
+            if (limit - pos >= maxHeaderSize || limit - pos >= buffer.length) {
+                throw new IOException("multipart 헤더 한 줄이 너무 깁니다.");
+            }
+            if (!fillMore()) {
+                return null;
+            }
+        }
+    }
+
+    private static void parseContentDisposition(Part part, String value) {
+        for (String token : splitParams(value)) {
+            int eq = token.indexOf('=');
+            if (eq < 0) {
+                continue;
+            }
+            String key = token.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            String raw = token.substring(eq + 1).trim();
+            if (key.equals("name")) {
+                part.name = unquote(raw);
+            } else if (key.equals("filename") && part.filename == null) {
+                part.filename = stripPath(unquote(raw));
+            } else if (key.equals("filename*")) {
+                // RFC 5987: UTF-8''%ED%8C%8C%EC%9D%BC.txt
+                int quote = raw.indexOf("''");
+                String encoded = quote >= 0 ? raw.substring(quote + 2) : raw;
+                try {
+                    part.filename = stripPath(URLDecoder.decode(encoded.replace("+", "%2B"), StandardCharsets.UTF_8));
+                } catch (IllegalArgumentException e) {
+                    // 잘못된 %-이스케이프 (%ZZ, 끝의 % 등)는 클라이언트 오류
+                    throw new FileRejectedException("파일명 인코딩이 올바르지 않습니다.");
+                }
+            }
+        }
+    }
+
+    // 따옴표 안의 ;는 구분자로 보지 않음
+    private static List<String> splitParams(String value) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' && (i == 0 || value.charAt(i - 1) != '\\')) {
+                quoted = !quoted;
+            }
+            if (c == ';' && !quoted) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        tokens.add(current.toString());
+        return tokens;
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1).replace("\\\"", "\"");
+        }
+        return value;
+    }
+
+    // 일부 브라우저(IE 등)는 전체 경로를 보내므로 마지막 경로 구성 요소만 사용
+    private static String stripPath(String filename) {
+        int slash = Math.max(filename.lastIndexOf('/'), filename.lastIndexOf('\\'));
+        return slash >= 0 ? filename.substring(slash + 1) : filename;
+    }
+
+    /**
+     * 버퍼에 최소 n 바이트가 남도록 채웁니다. (스트림 끝이면 더 적을 수 있음)
+     */
+    private void ensure(int n) throws IOException {
+        while (limit - pos < n && fillMore()) {
+            // 계속 채움
+        }
+    }
+
+    private boolean fillMore() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == buffer.length) {
+            return false;
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private int indexOfDelimiter(int from) {
+        outer:
+        for (int i = from; i + delimiter.length <= limit; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 파트 하나의 헤더 정보와 본문 스트림
+     */
+    public static class Part {
+        private String name;
+        private String filename;
+        private String contentType;
+        private InputStream body;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public boolean isFile() {
+            return filename != null;
+        }
+
+        public InputStream getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * 다음 구분자 직전까지만 읽는 스트림
+     */
+    private class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                ensure(delimiter.length);
+                int index = indexOfDelimiter(pos);
+                int available;
+                if (index == pos) {
+                    // 파트 끝
+                    pos += delimiter.length;
+                    done = true;
+                    afterDelimiter();
+                    return -1;
+                } else if (index > pos) {
+                    available = index - pos;
+                } else if (eof) {
+                    if (limit - pos == 0) {
+                        throw new IOException("multipart 종료 구분자 없이 요청이 끝났습니다.");
+                    }
+                    available = limit - pos;
+                } else {
+                    // 구분자가 버퍼 경계에 걸쳐 있을 수 있으므로 마지막 (delimiter - 1) 바이트는 남겨 둠
+                    available = limit - pos - (delimiter.length - 1);
+                    if (available <= 0) {
+                        if (!fillMore()) {
+                            available = limit - pos;
+                        } else {
+                            continue;
+                        }
+                    }
+                }
+                int n = Math.min(len, available);
+                System.arraycopy(buffer, pos, b, off, n);
+                pos += n;
+                return n;
+            }
+        }
+
+        private void skipRemaining() throws IOException {
+            byte[] skip = new byte[4096];
+            while (read(skip, 0, skip.length) >= 0) {
+                // 버림
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.fileextension.proj.config.common.utils;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 확장자 전용 불변 해시 셋입니다.
+ * 확장자는 최대 20자의 [a-z0-9]이므로 문자당 base-37 값(0은 빈 칸)으로 long 두 개에 담을 수 있습니다.
+ * (앞 12자 -> hi, 나머지 8자 -> lo, 37^12 < 2^63)
+ * 조회 시 String을 만들지 않고 원본 문자열의 구간을 그대로 패킹해서 비교합니다.
+ */
+public final class PackedExtensionSet {
+
+    public static final int MAX_PACKED_LENGTH = 20;
+    static final int HI_CHARS = 12;
+    static final int RADIX = 37;
+
+    private static final PackedExtensionSet EMPTY = new PackedExtensionSet(new long[2], new long[2], 0, Set.of());
+
+    private final long[] his;
+    private final long[] los;
+    private final int mask;
+    private final int size;
+    // [a-z0-9]{1,20}로 표현할 수 없는 확장자 (DB 컬럼 길이가 더 긴 고정 확장자 등) - 드문 경우에만 문자열로 비교
+    private final Set<String> unpackable;
+
+    private PackedExtensionSet(long[] his, long[] los, int size, Set<String> unpackable) {
+        this.his = his;
+        this.los = los;
+        this.mask = his.length - 1;
+        this.size = size;
+        this.unpackable = unpackable;
+    }
+
+    public static PackedExtensionSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 정규화된 확장자 목록으로 셋을 만듭니다.
+     */
+    public static PackedExtensionSet of(Collection<String> extensions) {
+        if (extensions.isEmpty()) {
+            return EMPTY;
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, extensions.size()) * 2 - 1) << 1;
+        long[] his = new long[capacity];
+        long[] los = new long[capacity];
+        Set<String> unpackable = new HashSet<>();
+        int size = 0;
+
+        for (String extension : extensions) {
+            long hi = packHi(extension, 0, extension.length());
+            if (hi == 0) {
+                unpackable.add(extension.toLowerCase(Locale.ROOT).trim());
+                continue;
+            }
+            long lo = packLo(extension, 0, extension.length());
+            int slot = hash(hi, lo) & (capacity - 1);
+            while (his[slot] != 0) {
+                if (his[slot] == hi && los[slot] == lo) {
+                    break;
+                }
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (his[slot] == 0) {
+                his[slot] = hi;
+                los[slot] = lo;
+                size++;
+            }
+        }
+        return new PackedExtensionSet(his, los, size, Set.copyOf(unpackable));
+    }
+
+    public int size() {
+        return size + unpackable.size();
+    }
+
+    public boolean contains(CharSequence extension) {
+        return extension != null && contains(extension, 0, extension.length());
+    }
+
+    /**
+     * text[from, to) 구간을 ExtensionServiceImpl.normalizeExtensionName과 같은 규칙
+     * (마침표 제거, 소문자, 앞뒤 공백 제거)으로 보고 포함 여부를 확인합니다.
+     */
+    public boolean contains(CharSequence text, int from, int to) {
+        long hi = packHi(text, from, to);
+        if (hi == 0) {
+            return !unpackable.isEmpty() && containsUnpackable(text, from, to);
+        }
+        return containsPacked(hi, packLo(text, from, to));
+    }
+
+    boolean containsPacked(long hi, long lo) {
+        int slot = hash(hi, lo) & mask;
+        long candidate;
+        while ((candidate = his[slot]) != 0) {
+            if (candidate == hi && los[slot] == lo) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    boolean hasUnpackable() {
+        return !unpackable.isEmpty();
+    }
+
+    boolean containsUnpackable(CharSequence text, int from, int to) {
+        String normalized = text.subSequence(from, to).toString()
+                .replace(".", "")
+                .toLowerCase(Locale.ROOT)
+                .trim();
+        return unpackable.contains(normalized);
+    }
+
+    /**
+     * 확장자명이 [a-zA-Z0-9]{1,20} 형식인지 확인합니다. (마침표와 앞뒤 공백은 무시)
+     */
+    public static boolean isPackable(CharSequence text) {
+        return text != null && packHi(text, 0, text.length()) != 0;
+    }
+
+    /**
+     * 문자 하나의 base-37 값 (0-9 -> 1..10, a-z/A-Z -> 11..36), 그 외 문자는 -1
+     * ASCII 범위만 봅니다. (KELVIN SIGN 등 소문자로 바꾸면 ASCII가 되는 문자를 받아들이지 않도록)
+     */
+    static int digit(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 11;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 11;
+        }
+        return -1;
+    }
+
+    static boolean isBlank(char c) {
+        return c <= ' ';
+    }
+
+    static int hash(long hi, long lo) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * 구간을 정규화했을 때의 앞 12자를 패킹합니다. 표현할 수 없는 구간이면 0을 반환합니다.
+     */
+    private static long packHi(CharSequence text, int from, int to) {
+        int start = trimStart(text, from, to);
+        int end = trimEnd(text, start, to);
+        long hi = 0;
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                continue;
+            }
+            int d = digit(c);
+            if (d < 0 || ++length > MAX_PACKED_LENGTH) {
+                return 0;
+            }
+            if (length <= HI_CHARS) {
+                hi = hi * RADIX + d;
+            }
+        }
+        return hi;
+    }
+
+    private static long packLo(CharSequence text, int from, int to) {
+        int start = trimStart(text, from, to);
+        int end = trimEnd(text, start, to);
+        long lo = 0;
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                continue;
+            }
+            if (++length > HI_CHARS) {
+                lo = lo * RADIX + digit(c);
+            }
+        }
+        return lo;
+    }
+
+    private static int trimStart(CharSequence text, int from, int to) {
+        while (from < to && (text.charAt(from) == '.' || isBlank(text.charAt(from)))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(CharSequence text, int from, int to) {
+        while (to > from && (text.charAt(to - 1) == '.' || isBlank(text.charAt(to - 1)))) {
+            to--;
+        }
+        return to;
+    }
+}
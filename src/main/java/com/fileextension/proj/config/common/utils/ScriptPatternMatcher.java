@@ -0,0 +1,180 @@
+package com.fileextension.proj.config.common.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * 스크립트 키워드 목록을 Aho-Corasick 오토마톤(DFA)으로 한 번만 컴파일해 두고,
+ * 바이트 배열을 대소문자 구분 없이 한 번 순회하면서 어떤 스크립트 계열이 포함되어 있는지 찾습니다.
+ * 키워드가 늘어나도 검사 비용은 입력 길이에만 비례합니다.
+ */
+public final class ScriptPatternMatcher {
+
+    /**
+     * 스크립트 계열. 선언 순서가 우선순위입니다. (여러 계열이 동시에 매칭되면 앞쪽 계열을 반환)
+     */
+    public enum ScriptFamily {
+        JS("js",
+                "function", "var ", "const ", "let ", "console.", "document.", "window.", "require(",
+                "import ", "export ", "module.exports", "class ", "=>", "async ", "await ", "promise"),
+        BAT("bat",
+                "@echo", "echo ", "pause", "cls", "dir ", "copy ", "del ", "ren ", "md ", "rd ", "cd ",
+                "set ", "if ", "for ", "goto ", "call ", "start ", "exit", "rem ", "::", "choice ",
+                "find ", "findstr ", "sort ", "type ", "more "),
+        CMD("cmd",
+                "cmd", "command", "powershell", "wscript", "cscript", "reg ", "sc ", "net ", "tasklist",
+                "taskkill", "ipconfig", "ping ", "tracert ", "nslookup", "telnet ", "ftp ", "at ", "schtasks"),
+        // 아래 계열은 일반 문장/CSV 첫 줄에도 나오는 짧은 단어("dim ", "msgbox" 등)를 두지 않고 고유한 키워드만 둠
+        POWERSHELL("ps1",
+                "invoke-expression", "invoke-webrequest", "new-object ", "-encodedcommand",
+                "downloadstring(", "set-executionpolicy", "write-host", "get-childitem", "start-process", "$env:"),
+        VBS("vbs",
+                "createobject(", "wscript.shell", "wscript.echo", "on error resume next"),
+        HTA("hta",
+                "<hta:application", "mshta", "<script language=\"vbscript\"", "<script language=\"jscript\"");
+
+        private final String extension;
+        private final String[] keywords;
+
+        ScriptFamily(String extension, String... keywords) {
+            this.extension = extension;
+            this.keywords = keywords;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final ScriptFamily[] FAMILIES = ScriptFamily.values();
+    // 키워드는 모두 ASCII이므로 0~127만 상태 전이 테이블에 둡니다. (128 이상 바이트는 0으로 매핑 - 어떤 키워드에도 없음)
+    private static final int ALPHABET = 128;
+
+    // 대소문자 무시를 위한 바이트 -> 소문자 매핑
+    private static final int[] FOLD = new int[ALPHABET];
+
+    static {
+        for (int c = 0; c < ALPHABET; c++) {
+            FOLD[c] = (c >= 'A' && c <= 'Z') ? c + ('a' - 'A') : c;
+        }
+    }
+
+    private static final ScriptPatternMatcher DEFAULT = new ScriptPatternMatcher();
+
+    private final int[] transitions;
+    private final int[] outputs;
+
+    private ScriptPatternMatcher() {
+        List<int[]> gotoTable = new ArrayList<>();
+        List<Integer> outputList = new ArrayList<>();
+        gotoTable.add(newRow());
+        outputList.add(0);
+
+        // 1. 키워드 트라이 구성
+        for (ScriptFamily family : FAMILIES) {
+            for (String keyword : family.keywords) {
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int c = fold(keyword.charAt(i));
+                    int next = gotoTable.get(state)[c];
+                    if (next <= 0) {
+                        next = gotoTable.size();
+                        gotoTable.get(state)[c] = next;
+                        gotoTable.add(newRow());
+                        outputList.add(0);
+                    }
+                    state = next;
+                }
+                outputList.set(state, outputList.get(state) | (1 << family.ordinal()));
+            }
+        }
+
+        int stateCount = gotoTable.size();
+        int[] fail = new int[stateCount];
+        transitions = new int[stateCount * ALPHABET];
+        outputs = new int[stateCount];
+        for (int s = 0; s < stateCount; s++) {
+            outputs[s] = outputList.get(s);
+        }
+
+        // 2. BFS로 실패 링크를 계산하면서 완전한 DFA 전이 테이블로 펼침
+        Queue<Integer> queue = new ArrayDeque<>();
+        int[] root = gotoTable.get(0);
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = root[c] > 0 ? root[c] : 0;
+            transitions[c] = next;
+            if (next != 0) {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[fail[state]];
+            int[] row = gotoTable.get(state);
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = row[c];
+                if (next > 0) {
+                    fail[next] = transitions[fail[state] * ALPHABET + c];
+                    transitions[state * ALPHABET + c] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * ALPHABET + c] = transitions[fail[state] * ALPHABET + c];
+                }
+            }
+        }
+    }
+
+    public static ScriptPatternMatcher getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * data[offset, offset + length)에서 매칭된 스크립트 계열 중 우선순위가 가장 높은 계열을 반환합니다.
+     * 매칭이 없으면 null을 반환합니다.
+     */
+    public ScriptFamily match(byte[] data, int offset, int length) {
+        int mask = matchMask(data, offset, length, 1);
+        return mask == 0 ? null : FAMILIES[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    /**
+     * 매칭된 모든 스크립트 계열을 비트마스크(1 << ordinal)로 반환합니다.
+     */
+    public int matchAll(byte[] data, int offset, int length) {
+        return matchMask(data, offset, length, 0);
+    }
+
+    private int matchMask(byte[] data, int offset, int length, int stopMask) {
+        int[] table = transitions;
+        int state = 0;
+        int mask = 0;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            int b = data[i];
+            state = table[state * ALPHABET + (b >= 0 ? FOLD[b] : 0)];
+            int out = outputs[state];
+            if (out != 0) {
+                mask |= out;
+                // 최우선 계열이 나오면 더 볼 필요가 없음
+                if ((mask & stopMask) != 0) {
+                    return mask;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static int fold(char c) {
+        if (c >= ALPHABET) {
+            throw new IllegalArgumentException("스크립트 키워드는 ASCII만 지원합니다: " + c);
+        }
+        return FOLD[c];
+    }
+
+    private static int[] newRow() {
+        return new int[ALPHABET];
+    }
+}
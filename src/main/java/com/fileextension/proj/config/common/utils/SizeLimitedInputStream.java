@@ -0,0 +1,46 @@
+package com.fileextension.proj.config.common.utils;
+
+import com.fileextension.proj.config.common.exception.FileSizeLimitExceededException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 지정한 크기를 넘겨 읽으려 하면 즉시 FileSizeLimitExceededException을 던지는 스트림입니다.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long count;
+
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            checkLimit(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            checkLimit(n);
+        }
+        return n;
+    }
+
+    private void checkLimit(int n) {
+        count += n;
+        if (maxBytes >= 0 && count > maxBytes) {
+            throw new FileSizeLimitExceededException("파일 크기가 제한(" + maxBytes + " bytes)을 초과했습니다.");
+        }
+    }
+}
@@ -1,33 +1,54 @@
 package com.fileextension.proj.controller;
 
 import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.CustomExtensionBulkRequestDto;
+import com.fileextension.proj.dto.CustomExtensionBulkResultDto;
 import com.fileextension.proj.dto.CustomExtensionDto;
+import com.fileextension.proj.dto.CustomExtensionSyncRequestDto;
 import com.fileextension.proj.dto.ExtensionRequestDto;
 import com.fileextension.proj.dto.FixedExtensionDto;
 import com.fileextension.proj.service.ExtensionService;
+import com.fileextension.proj.service.blocklist.BlocklistEventBroadcaster;
+import com.fileextension.proj.service.blocklist.ExtensionListCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/extensions")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class ExtensionController {
 
     private final ExtensionService extensionService;
+    private final ExtensionListCache extensionListCache;
+    private final BlocklistEventBroadcaster blocklistEventBroadcaster;
 
-    // 고정 확장자 목록 조회
+    @Value("${extension.events.retry-after:5s}")
+    private Duration eventsRetryAfter;
+
+    // 고정 확장자 목록 조회 (차단 목록 버전 기반 ETag - 바뀌지 않았으면 DB 조회 없이 304)
     @GetMapping("/fixed")
-    public ResponseEntity<ApiResponseDto<List<FixedExtensionDto>>> getFixedExtensions() {
+    public ResponseEntity<?> getFixedExtensions(WebRequest webRequest) {
         try {
-            List<FixedExtensionDto> extensions = extensionService.getAllFixedExtensions();
-            return ResponseEntity.ok(ApiResponseDto.success(extensions));
+            // 목록보다 버전을 먼저 읽어야 오래된 목록이 새 버전으로 저장되지 않음
+            long version = extensionService.getBlocklistSnapshot().getVersion();
+            if (webRequest.checkNotModified(ExtensionListCache.fixedEtag(version))) {
+                return null;
+            }
+            return cachedList(extensionListCache.getFixedExtensions(version, extensionService::getAllFixedExtensions));
         } catch (Exception e) {
             log.error("고정 확장자 목록 조회 실패: {}", e.getMessage());
             return ResponseEntity.ok(ApiResponseDto.error("고정 확장자 목록 조회에 실패했습니다."));
@@ -36,6 +57,22 @@ public class ExtensionController {
 
 
 
+    // 차단 목록 변경 구독 (SSE) - 재연결 시 Last-Event-ID(또는 since)보다 새 변경이 있었으면 reload 이벤트를 먼저 보냄
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) Long since) {
+        SseEmitter emitter = blocklistEventBroadcaster.subscribe(parseVersion(lastEventId, since));
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(eventsRetryAfter.toSeconds()))
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")  // 프록시 버퍼링 방지
+                .body(emitter);
+    }
+
     // 고정 확장자 상태 업데이트
     @PutMapping("/fixed/{id}/status")
     public ResponseEntity<ApiResponseDto<FixedExtensionDto>> updateFixedExtensionStatus(
@@ -50,12 +87,15 @@ public class ExtensionController {
         }
     }
 
-    // 커스텀 확장자 목록 조회
+    // 커스텀 확장자 목록 조회 (차단 목록 버전 기반 ETag - 바뀌지 않았으면 DB 조회 없이 304)
     @GetMapping("/custom")
-    public ResponseEntity<ApiResponseDto<List<CustomExtensionDto>>> getCustomExtensions() {
+    public ResponseEntity<?> getCustomExtensions(WebRequest webRequest) {
         try {
-            List<CustomExtensionDto> extensions = extensionService.getAllCustomExtensions();
-            return ResponseEntity.ok(ApiResponseDto.success(extensions));
+            long version = extensionService.getBlocklistSnapshot().getVersion();
+            if (webRequest.checkNotModified(ExtensionListCache.customEtag(version))) {
+                return null;
+            }
+            return cachedList(extensionListCache.getCustomExtensions(version, extensionService::getAllCustomExtensions));
         } catch (Exception e) {
             log.error("커스텀 확장자 목록 조회 실패: {}", e.getMessage());
             return ResponseEntity.ok(ApiResponseDto.error("커스텀 확장자 목록 조회에 실패했습니다."));
@@ -75,6 +115,30 @@ public class ExtensionController {
         }
     }
 
+    // 커스텀 확장자 일괄 추가/삭제 (위협 피드 증분 반영)
+    @PostMapping("/custom/bulk")
+    public ResponseEntity<ApiResponseDto<CustomExtensionBulkResultDto>> bulkUpdateCustomExtensions(
+            @RequestBody CustomExtensionBulkRequestDto request) {
+        try {
+            return ResponseEntity.ok(extensionService.bulkUpdateCustomExtensions(request));
+        } catch (Exception e) {
+            log.error("커스텀 확장자 일괄 반영 실패: {}", e.getMessage());
+            return ResponseEntity.ok(ApiResponseDto.error("커스텀 확장자 일괄 반영에 실패했습니다."));
+        }
+    }
+
+    // 커스텀 확장자를 주어진 목록과 같게 동기화 (위협 피드 전체 반영)
+    @PutMapping("/custom/sync")
+    public ResponseEntity<ApiResponseDto<CustomExtensionBulkResultDto>> syncCustomExtensions(
+            @RequestBody CustomExtensionSyncRequestDto request) {
+        try {
+            return ResponseEntity.ok(extensionService.syncCustomExtensions(request));
+        } catch (Exception e) {
+            log.error("커스텀 확장자 동기화 실패: {}", e.getMessage());
+            return ResponseEntity.ok(ApiResponseDto.error("커스텀 확장자 동기화에 실패했습니다."));
+        }
+    }
+
     // 커스텀 확장자 삭제
     @DeleteMapping("/custom/{id}")
     public ResponseEntity<ApiResponseDto<Void>> deleteCustomExtension(@PathVariable Long id) {
@@ -87,7 +151,24 @@ public class ExtensionController {
         }
     }
 
+    // Last-Event-ID가 우선, 없으면 since 파라미터 (페이지가 렌더링된 시점의 버전)
+    private static Long parseVersion(String lastEventId, Long since) {
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                return Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return since;
+    }
 
-
-
-} 
\ No newline at end of file
+    // 직렬화해 둔 목록 응답 (클라이언트는 매번 ETag로 재검증)
+    private ResponseEntity<byte[]> cachedList(ExtensionListCache.CachedList list) {
+        return ResponseEntity.ok()
+                .eTag(list.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(list.body());
+    }
+}
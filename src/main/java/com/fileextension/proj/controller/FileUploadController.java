@@ -1,21 +1,53 @@
 package com.fileextension.proj.controller;
 
-import com.fileextension.proj.config.common.utils.FileUtils;
-import com.fileextension.proj.config.common.utils.FileValidationUtils;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fileextension.proj.config.common.exception.FileRejectedException;
+import com.fileextension.proj.config.common.exception.FileSizeLimitExceededException;
+import com.fileextension.proj.config.common.interceptor.UploadAdmissionInterceptor;
+import com.fileextension.proj.config.common.utils.MultipartStreamParser;
+import com.fileextension.proj.config.common.utils.SizeLimitedInputStream;
 import com.fileextension.proj.dto.ApiResponseDto;
-import com.fileextension.proj.service.ExtensionService;
+import com.fileextension.proj.dto.FileLinkRequestDto;
+import com.fileextension.proj.dto.FileManifestRequestDto;
+import com.fileextension.proj.dto.FileManifestResponseDto;
+import com.fileextension.proj.dto.FileUploadResultDto;
+import com.fileextension.proj.dto.FileVerdictItemDto;
+import com.fileextension.proj.dto.FileVerdictResponseDto;
+import com.fileextension.proj.dto.StoredFileDto;
+import com.fileextension.proj.service.FileDownloadService;
+import com.fileextension.proj.service.FileStorageService;
+import com.fileextension.proj.service.UploadValidationService;
+import com.fileextension.proj.service.metrics.UploadMetrics;
+import com.fileextension.proj.service.storage.DedupBlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 @Controller
@@ -23,10 +55,35 @@ import java.util.stream.Collectors;
 @Slf4j
 public class FileUploadController {
 
-    private final ExtensionService extensionService;
+    private final UploadValidationService uploadValidationService;
+    private final FileStorageService fileStorageService;
+    private final FileDownloadService fileDownloadService;
 
-    @Value("${file.upload.dir:./uploads}")
-    private String uploadDir;
+    private final MultipartProperties multipartProperties;
+    private final UploadMetrics uploadMetrics;
+    private final UploadAdmissionInterceptor uploadAdmission;
+    private final ObjectMapper objectMapper;
+
+    // 스트리밍 업로드 시 파트 헤더 최대 크기
+    private static final int MAX_PART_HEADER_SIZE = 8 * 1024;
+    // 매니페스트 요청 한 번에 확인할 최대 해시 수
+    private static final int MAX_MANIFEST_SIZE = 1000;
+    // 사전 검사 항목별 header 최대 크기 (매직 바이트 판정에는 앞부분만 쓰임)
+    private static final int MAX_VERDICT_HEADER_SIZE = 8 * 1024;
+
+    // 일괄 업로드 시 동시에 검증/저장하는 파일 수와 요청당 최대 파일 수
+    @Value("${file.upload.batch.concurrency:8}")
+    private int batchConcurrency;
+
+    @Value("${file.upload.batch.max-files:500}")
+    private int maxBatchFiles;
+
+    // 사전 검사 요청당 최대 파일 수
+    @Value("${file.upload.verdict.max-files:10000}")
+    private int maxVerdictFiles;
+
+    @Value("${file.upload.verdict.max-request-size:4MB}")
+    private DataSize maxVerdictRequestSize;
 
 
 
@@ -35,20 +92,8 @@ public class FileUploadController {
     @ResponseBody
     public ResponseEntity<ApiResponseDto> getFileList() {
         try {
-            File dir = new File(uploadDir);
-            if (!dir.exists() || !dir.isDirectory()) {
-                return ResponseEntity.ok(ApiResponseDto.success("파일 목록 조회 성공", new String[0]));
-            }
-
-            File[] files = dir.listFiles(File::isFile);
-            if (files == null) {
-                return ResponseEntity.ok(ApiResponseDto.success("파일 목록 조회 성공", new String[0]));
-            }
-
-            List<String> fileNames = Arrays.stream(files)
-                .sorted((f1, f2) -> Long.compare(f2.lastModified(), f1.lastModified())) // 최신순 정렬
-                .map(File::getName)
-                .collect(Collectors.toList());
+            // 최신순 정렬된 메모리 인덱스에서 조회 (디렉토리를 매번 읽지 않음)
+            List<String> fileNames = fileStorageService.listFiles();
 
             return ResponseEntity.ok(ApiResponseDto.success("파일 목록 조회 성공", fileNames));
             
@@ -78,24 +123,22 @@ public class FileUploadController {
             
             String originalFilename = file.getOriginalFilename();
             
-            // 통합 파일 검증
-            ApiResponseDto validationResult = validateFile(file, originalFilename);
+            // 파일명 검증 (본문을 읽기 전)
+            ApiResponseDto validationResult = uploadValidationService.validateFilename(originalFilename);
             if (!validationResult.isSuccess()) {
                 return ResponseEntity.badRequest().body(validationResult);
             }
             
-       
-            // 파일 저장 (중복 파일명 처리)
-            File dir = new File(uploadDir);
-            if (!dir.exists()) dir.mkdirs();
-
-            String finalFilename = FileUtils.generateUniqueFilename(originalFilename, dir);
-            File dest = new File(dir, finalFilename);
-            if (!dest.getParentFile().exists()) dest.getParentFile().mkdirs();
-            file.transferTo(dest);
+            // 본문을 한 번만 읽으면서 매직 바이트 검증 + 해시 계산 + 저장 (중복 파일명 처리)
+            StoredFileDto stored;
+            try (InputStream in = file.getInputStream()) {
+                stored = fileStorageService.store(in, originalFilename, uploadValidationService.headerInspector(originalFilename));
+            }
 
-            return ResponseEntity.ok(ApiResponseDto.success("파일 업로드 성공", finalFilename));
+            return ResponseEntity.ok(ApiResponseDto.success("파일 업로드 성공", stored.getFilename()));
             
+        } catch (FileRejectedException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error(e.getMessage()));
         } catch (IOException e) {
             log.error("파일 업로드 실패: {}", e.getMessage());
             return ResponseEntity.internalServerError()
@@ -105,98 +148,314 @@ public class FileUploadController {
 
 
 
-    // 새로운 AJAX 방식 (REST API)
-    @DeleteMapping("/api/files/{filename}")
+    // 여러 파일 일괄 업로드 - 파일별로 검증/저장하고 파일별 결과를 반환 (일부 실패해도 나머지는 저장)
+    @PostMapping("/api/files/upload/batch")
     @ResponseBody
-    public ResponseEntity<ApiResponseDto> deleteFile(@PathVariable String filename) {
-        try {
-            File file = new File(uploadDir, filename);
-            if (!file.exists()) {
-                return ResponseEntity.notFound().build();
+    public ResponseEntity<ApiResponseDto> uploadFiles(@RequestParam("files") List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponseDto.error("파일을 선택해 주세요."));
+        }
+        if (files.size() > maxBatchFiles) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponseDto.error("한 번에 업로드할 수 있는 파일은 최대 " + maxBatchFiles + "개입니다."));
+        }
+
+        // 가상 스레드로 병렬 처리하되, 요청이 받은 업로드 허가 1개 외의 병렬 저장은 같은 허가에서 추가로 가져온 만큼만
+        // (업로드가 몰려 남은 허가가 없으면 순차 처리)
+        int extra = uploadAdmission.tryAcquireExtra(Math.min(batchConcurrency, files.size()) - 1);
+        Semaphore permits = new Semaphore(1 + extra);
+        List<Future<FileUploadResultDto>> futures = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return uploadOne(file);
+                    } finally {
+                        permits.release();
+                    }
+                }));
             }
-            
-            if (!file.isFile()) {
-                return ResponseEntity.badRequest()
-                    .body(ApiResponseDto.error("파일이 아닙니다."));
+        } finally {
+            uploadAdmission.releaseExtra(extra);
+        }
+
+        List<FileUploadResultDto> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(failure(files.get(i).getOriginalFilename(), "업로드가 중단되었습니다."));
+            } catch (ExecutionException e) {
+                log.error("일괄 업로드 중 오류: {}", e.getCause().getMessage());
+                results.add(failure(files.get(i).getOriginalFilename(), "파일 저장 실패"));
             }
-            
-            if (file.delete()) {
-                return ResponseEntity.ok(ApiResponseDto.success("파일 삭제 성공", filename));
-            } else {
-                return ResponseEntity.internalServerError()
-                    .body(ApiResponseDto.error("파일 삭제 실패"));
+        }
+
+        long succeeded = results.stream().filter(FileUploadResultDto::isSuccess).count();
+        return ResponseEntity.ok(ApiResponseDto.success(
+            "일괄 업로드 완료 (성공 " + succeeded + "개, 실패 " + (results.size() - succeeded) + "개)", results));
+    }
+
+    /**
+     * 파일 하나를 검증/저장하고 결과를 반환합니다. (일괄 업로드용, 예외 대신 실패 결과로 반환)
+     */
+    private FileUploadResultDto uploadOne(MultipartFile file) {
+        String originalFilename = file.getOriginalFilename();
+        if (originalFilename == null || originalFilename.trim().isEmpty()) {
+            return failure(originalFilename, "유효한 파일명이 필요합니다.");
+        }
+
+        ApiResponseDto validationResult = uploadValidationService.validateFilename(originalFilename);
+        if (!validationResult.isSuccess()) {
+            return failure(originalFilename, validationResult.getMessage());
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            StoredFileDto stored = fileStorageService.store(in, originalFilename, uploadValidationService.headerInspector(originalFilename));
+            return FileUploadResultDto.builder()
+                .originalFilename(originalFilename)
+                .success(true)
+                .filename(stored.getFilename())
+                .build();
+        } catch (FileRejectedException e) {
+            return failure(originalFilename, e.getMessage());
+        } catch (IOException e) {
+            log.error("파일 업로드 실패: {} ({})", originalFilename, e.getMessage());
+            return failure(originalFilename, "파일 저장 실패: " + e.getMessage());
+        }
+    }
+
+    private static FileUploadResultDto failure(String originalFilename, String message) {
+        return FileUploadResultDto.builder()
+            .originalFilename(originalFilename)
+            .success(false)
+            .message(message)
+            .build();
+    }
+
+    // 스트리밍 업로드 - multipart 본문을 버퍼링/스풀링하지 않고 파트 헤더의 파일명부터 검사
+    @PostMapping(value = "/api/files/upload/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @ResponseBody
+    public ResponseEntity<ApiResponseDto> uploadFileStream(HttpServletRequest request) {
+        long maxFileSize = multipartProperties.getMaxFileSize().toBytes();
+        long maxRequestSize = multipartProperties.getMaxRequestSize().toBytes();
+
+        if (maxRequestSize >= 0 && request.getContentLengthLong() > maxRequestSize) {
+            uploadMetrics.rejected(UploadMetrics.Rejection.SIZE_LIMIT);
+            return rejectStream(HttpStatus.PAYLOAD_TOO_LARGE, "요청 크기가 제한을 초과했습니다.");
+        }
+
+        String boundary = MultipartStreamParser.extractBoundary(request.getContentType());
+        if (boundary == null) {
+            return rejectStream(HttpStatus.BAD_REQUEST, "multipart/form-data 요청이 아닙니다.");
+        }
+
+        try {
+            MultipartStreamParser parser = new MultipartStreamParser(
+                    new SizeLimitedInputStream(request.getInputStream(), maxRequestSize), boundary, MAX_PART_HEADER_SIZE);
+
+            MultipartStreamParser.Part part;
+            while ((part = parser.nextPart()) != null) {
+                if (!"file".equals(part.getName()) || !part.isFile()) {
+                    continue;
+                }
+
+                String originalFilename = part.getFilename();
+                if (originalFilename.trim().isEmpty()) {
+                    return rejectStream(HttpStatus.BAD_REQUEST, "유효한 파일명이 필요합니다.");
+                }
+
+                // 파일명 검증 (1~4단계) - 본문은 아직 읽지 않음
+                ApiResponseDto validationResult = uploadValidationService.validateFilename(originalFilename);
+                if (!validationResult.isSuccess()) {
+                    return rejectStream(HttpStatus.BAD_REQUEST, validationResult.getMessage());
+                }
+
+                // 매직 바이트 검증 + 저장 (크기 제한 초과 시 즉시 중단)
+                StoredFileDto stored = fileStorageService.store(
+                        new SizeLimitedInputStream(part.getBody(), maxFileSize), originalFilename, uploadValidationService.headerInspector(originalFilename));
+                return ResponseEntity.ok(ApiResponseDto.success("파일 업로드 성공", stored.getFilename()));
             }
-        } catch (Exception e) {
-            log.error("파일 삭제 중 오류: {}", e.getMessage());
-            return ResponseEntity.internalServerError()
-                .body(ApiResponseDto.error("파일 삭제 중 오류가 발생했습니다."));
+
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("파일을 선택해 주세요."));
+
+        } catch (FileRejectedException e) {
+            return rejectStream(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            log.error("스트리밍 파일 업로드 실패: {}", e.getMessage());
+            return rejectStream(HttpStatus.INTERNAL_SERVER_ERROR, "파일 저장 실패: " + e.getMessage());
         }
     }
 
     /**
-     * 파일 업로드 전 통합 검증을 수행합니다.
+     * 스트리밍 업로드 거부 응답. 남은 요청 본문을 읽지 않도록 연결을 닫습니다.
      */
-    private ApiResponseDto validateFile(MultipartFile file, String originalFilename) {
+    private ResponseEntity<ApiResponseDto> rejectStream(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+            .header(HttpHeaders.CONNECTION, "close")
+            .body(ApiResponseDto.error(message));
+    }
+
+    // 업로드 전 해시 목록으로 서버에 이미 있는 내용 확인 (중복 제거 저장소 사용 시)
+    @PostMapping("/api/files/manifest")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDto> checkManifest(@RequestBody FileManifestRequestDto requestDto) {
+        List<String> hashes = requestDto.getHashes() != null ? requestDto.getHashes() : List.of();
+        if (hashes.size() > MAX_MANIFEST_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponseDto.error("한 번에 확인할 수 있는 해시는 최대 " + MAX_MANIFEST_SIZE + "개입니다."));
+        }
+
+        Set<String> existing = fileStorageService.findExistingHashes(hashes);
+        List<String> missing = hashes.stream()
+            .map(hash -> hash != null ? hash.trim().toLowerCase() : "")
+            .filter(hash -> !existing.contains(hash))
+            .distinct()
+            .collect(Collectors.toList());
+
+        FileManifestResponseDto response = FileManifestResponseDto.builder()
+            .existing(List.copyOf(existing))
+            .missing(missing)
+            .build();
+        return ResponseEntity.ok(ApiResponseDto.success("매니페스트 확인 성공", response));
+    }
+
+    // 업로드 전 사전 검사 - 파일명(+선택적 헤더 바이트) 목록의 허용 여부를 한 번에 판정
+    // 본문 크기를 제한하고, 항목 수/헤더 크기는 항목을 하나씩 읽으면서 확인 (한도를 넘으면 나머지는 디코딩하지 않음)
+    @PostMapping("/api/files/verdicts")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDto> checkVerdicts(HttpServletRequest request) {
+        long maxBytes = maxVerdictRequestSize.toBytes();
+        if (request.getContentLengthLong() > maxBytes) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ApiResponseDto.error("요청 크기가 제한(" + maxBytes + " bytes)을 초과했습니다."));
+        }
+
+        List<FileVerdictItemDto> files;
         try {
-            // 1. 확장자 추출 및 정규화
-            String extension = FileValidationUtils.getLastExtension(originalFilename);
-            String normalized = extension != null ? extension.replace(".", "").toLowerCase().trim() : "";
+            files = readVerdictItems(new SizeLimitedInputStream(request.getInputStream(), maxBytes));
+        } catch (FileSizeLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(ApiResponseDto.error("요청 크기가 제한(" + maxBytes + " bytes)을 초과했습니다."));
+        } catch (FileRejectedException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("요청 형식이 올바르지 않습니다."));
+        }
 
-            // 2. 확장자 유효성 검증
-            if (!extensionService.isValidExtensionName(normalized)) {
-                return ApiResponseDto.error("유효하지 않은 확장자입니다.");
+        FileVerdictResponseDto response = uploadValidationService.evaluate(files);
+        return ResponseEntity.ok(ApiResponseDto.success("파일 사전 검사 완료", response));
+    }
+
+    /**
+     * {"files": [{filename, header}, ...]} 본문을 항목 단위로 읽습니다.
+     * 최대 항목 수를 넘거나 header가 MAX_VERDICT_HEADER_SIZE보다 크면 바로 FileRejectedException을 던집니다.
+     */
+    private List<FileVerdictItemDto> readVerdictItems(InputStream body) throws IOException {
+        List<FileVerdictItemDto> files = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new FileRejectedException("요청 형식이 올바르지 않습니다.");
             }
-            
-            // 3. 확장자 차단 여부 확인
-            if (extensionService.isExtensionBlocked(normalized)) {
-                return ApiResponseDto.error("차단된 확장자입니다.");
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"files".equals(field) || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value != JsonToken.START_ARRAY) {
+                    throw new FileRejectedException("files는 배열이어야 합니다.");
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (files.size() >= maxVerdictFiles) {
+                        throw new FileRejectedException("한 번에 검사할 수 있는 파일은 최대 " + maxVerdictFiles + "개입니다.");
+                    }
+                    FileVerdictItemDto item = objectMapper.readValue(parser, FileVerdictItemDto.class);
+                    if (item != null && item.getHeader() != null && item.getHeader().length > MAX_VERDICT_HEADER_SIZE) {
+                        throw new FileRejectedException("header는 최대 " + MAX_VERDICT_HEADER_SIZE + "바이트까지 보낼 수 있습니다.");
+                    }
+                    files.add(item);
+                }
+            }
+        }
+        return files;
+    }
+
+    // 이미 있는 내용에 새 파일명 연결 (본문 업로드 없이 등록)
+    @PostMapping("/api/files/link")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDto> linkFile(@RequestBody FileLinkRequestDto requestDto) {
+        String originalFilename = requestDto.getFilename();
+        if (originalFilename == null || originalFilename.trim().isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponseDto.error("유효한 파일명이 필요합니다."));
+        }
+        String sha256 = requestDto.getSha256() != null ? requestDto.getSha256().trim().toLowerCase() : "";
+        if (!DedupBlobStore.isValidHash(sha256)) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponseDto.error("유효하지 않은 SHA-256 값입니다."));
+        }
+
+        try {
+            // 업로드와 같은 검증 (파일명 1~4단계, 저장된 내용 헤더로 5단계)
+            ApiResponseDto validationResult = uploadValidationService.validateFilename(originalFilename);
+            if (!validationResult.isSuccess()) {
+                return ResponseEntity.badRequest().body(validationResult);
             }
-    
-            // 4. 확장자 우회 공격 방지 검사
-            if (FileValidationUtils.hasDangerousExtensionInFilename(originalFilename, extensionService)) {
-                return ApiResponseDto.error("파일명에 차단된 확장자가 포함되어 있습니다. (예: test.exe.txt)");
+
+            StoredFileDto stored = fileStorageService.storeExisting(sha256, originalFilename, uploadValidationService.headerInspector(originalFilename));
+            return ResponseEntity.ok(ApiResponseDto.success("파일 업로드 성공", stored.getFilename()));
+
+        } catch (FileRejectedException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error(e.getMessage()));
+        } catch (IOException e) {
+            log.error("파일 링크 실패: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                .body(ApiResponseDto.error("파일 저장 실패: " + e.getMessage()));
+        }
+    }
+
+    // 파일 다운로드 (Range/조건부 요청 지원, 본문은 sendfile/transferTo로 전송)
+    @GetMapping("/api/files/{filename}")
+    public void downloadFile(@PathVariable String filename,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        fileDownloadService.download(filename, request, response);
+    }
+
+    // 새로운 AJAX 방식 (REST API)
+    @DeleteMapping("/api/files/{filename}")
+    @ResponseBody
+    public ResponseEntity<ApiResponseDto> deleteFile(@PathVariable String filename) {
+        try {
+            // 저장 레이아웃(flat/sharded)에 따른 실제 경로
+            Path file = fileStorageService.resolve(filename);
+            if (!Files.exists(file)) {
+                return ResponseEntity.notFound().build();
             }
             
-            // 5. 매직 바이트 검증 (한 번만 호출)
-            String detectedExtension = FileValidationUtils.getFileExtensionFromMagicBytes(file);
-            if (!detectedExtension.isEmpty() && extensionService.isExtensionBlocked(detectedExtension)) {
-                String magicByteInfo = getMagicByteInfo(detectedExtension);
-                return ApiResponseDto.error("확장자 우회 공격이 감지되었습니다. (매직 바이트: " + magicByteInfo + ")");
+            if (!Files.isRegularFile(file)) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("파일이 아닙니다."));
             }
             
-            return ApiResponseDto.success("파일 검증 성공");
-            
+            // 중복 제거 저장소 사용 시 마지막 참조면 내용(blob)도 함께 삭제
+            fileStorageService.delete(filename);
+            return ResponseEntity.ok(ApiResponseDto.success("파일 삭제 성공", filename));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error(e.getMessage()));
         } catch (IOException e) {
-            log.error("파일 검증 중 오류: {}", e.getMessage());
-            return ApiResponseDto.error("파일 검증 중 오류가 발생했습니다.");
-        }
-    }
-    
-    /**
-     * 매직 바이트 정보를 사용자 친화적으로 반환합니다.
-     */
-    private String getMagicByteInfo(String detectedExtension) {
-        switch (detectedExtension.toLowerCase()) {
-            case "exe":
-                return "PE 헤더 (4D 5A) - Windows 실행 파일";
-            case "bat":
-                return "배치 스크립트 패턴 - Windows 배치 파일";
-            case "cmd":
-                return "명령 스크립트 패턴 - Windows 명령 파일";
-            case "js":
-                return "JavaScript 패턴 - JavaScript 파일";
-            case "pdf":
-                return "PDF 시그니처 (25 50 44 46) - PDF 문서";
-            case "zip":
-                return "ZIP 시그니처 (50 4B) - 압축 파일";
-            case "jpg":
-                return "JPEG 시그니처 (FF D8) - JPEG 이미지";
-            case "png":
-                return "PNG 시그니처 (89 50 4E 47) - PNG 이미지";
-            case "gif":
-                return "GIF 시그니처 (47 49 46 38) - GIF 이미지";
-            default:
-                return detectedExtension + " 형식";
+            log.error("파일 삭제 실패: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                .body(ApiResponseDto.error("파일 삭제 실패"));
+        } catch (Exception e) {
+            log.error("파일 삭제 중 오류: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                .body(ApiResponseDto.error("파일 삭제 중 오류가 발생했습니다."));
         }
     }
 
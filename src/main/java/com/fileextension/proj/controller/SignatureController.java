@@ -0,0 +1,38 @@
+package com.fileextension.proj.controller;
+
+import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.service.signature.MagicSignatureRegistry;
+import com.fileextension.proj.service.signature.MagicSignatureTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/signatures")
+@RequiredArgsConstructor
+@Slf4j
+public class SignatureController {
+
+    private final MagicSignatureRegistry magicSignatureRegistry;
+
+    // 현재 적용 중인 시그니처 개수 조회
+    @GetMapping
+    public ResponseEntity<ApiResponseDto<Integer>> getSignatureCount() {
+        return ResponseEntity.ok(ApiResponseDto.success(magicSignatureRegistry.current().getSignatureCount()));
+    }
+
+    // 시그니처 파일 재로딩 (재시작 없이 교체)
+    @PostMapping("/reload")
+    public ResponseEntity<ApiResponseDto<Integer>> reloadSignatures() {
+        try {
+            MagicSignatureTable table = magicSignatureRegistry.reloadAsync().get(10, TimeUnit.SECONDS);
+            return ResponseEntity.ok(ApiResponseDto.success("시그니처가 재로딩되었습니다.", table.getSignatureCount()));
+        } catch (Exception e) {
+            log.error("시그니처 재로딩 실패: {}", e.getMessage());
+            return ResponseEntity.ok(ApiResponseDto.error("시그니처 재로딩에 실패했습니다. 기존 시그니처를 유지합니다."));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.fileextension.proj.controller;
+
+import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.UploadSessionDto;
+import com.fileextension.proj.dto.UploadSessionRequestDto;
+import com.fileextension.proj.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 이어받기 가능한 청크 업로드
+ * 1. POST /api/files/sessions {filename, size} -> sessionId
+ * 2. PUT /api/files/sessions/{id}?offset=N (본문: 청크 바이트) - 실패 시 GET으로 offset 확인 후 이어서 전송
+ * 3. POST /api/files/sessions/{id}/complete
+ */
+@RestController
+@RequestMapping("/api/files/sessions")
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionController {
+
+    private final UploadSessionService uploadSessionService;
+
+    // 업로드 세션 생성
+    @PostMapping
+    public ResponseEntity<ApiResponseDto<UploadSessionDto>> createSession(@RequestBody UploadSessionRequestDto request) {
+        ApiResponseDto<UploadSessionDto> response = uploadSessionService.createSession(request);
+        if (response.isSuccess()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        return toResponse(response);
+    }
+
+    // 현재 offset 조회
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<ApiResponseDto<UploadSessionDto>> getSession(@PathVariable String sessionId) {
+        return toResponse(uploadSessionService.getSession(sessionId));
+    }
+
+    // 청크 전송
+    @PutMapping("/{sessionId}")
+    public ResponseEntity<ApiResponseDto<UploadSessionDto>> appendChunk(@PathVariable String sessionId,
+                                                                        @RequestParam long offset,
+                                                                        HttpServletRequest request) {
+        try {
+            ApiResponseDto<UploadSessionDto> response = uploadSessionService.appendChunk(sessionId, offset, request.getInputStream());
+            if (!response.isSuccess() && response.getErrorCode() != HttpStatus.CONFLICT.value()) {
+                // 거부된 청크의 남은 본문은 읽지 않고 연결을 닫음
+                return ResponseEntity.status(response.getErrorCode())
+                    .header(HttpHeaders.CONNECTION, "close")
+                    .body(response);
+            }
+            return toResponse(response);
+        } catch (IOException e) {
+            log.error("청크 수신 실패: {}", e.getMessage());
+            return ResponseEntity.internalServerError()
+                .body(ApiResponseDto.error("청크 수신에 실패했습니다."));
+        }
+    }
+
+    // 업로드 완료
+    @PostMapping("/{sessionId}/complete")
+    public ResponseEntity<ApiResponseDto<UploadSessionDto>> completeSession(@PathVariable String sessionId) {
+        return toResponse(uploadSessionService.completeSession(sessionId));
+    }
+
+    // 업로드 취소
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<ApiResponseDto<Void>> abortSession(@PathVariable String sessionId) {
+        return toResponse(uploadSessionService.abortSession(sessionId));
+    }
+
+    // 실패 응답의 errorCode를 HTTP 상태로 사용
+    private static <T> ResponseEntity<ApiResponseDto<T>> toResponse(ApiResponseDto<T> response) {
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.status(response.getErrorCode()).body(response);
+    }
+}
@@ -1,51 +1,47 @@
 package com.fileextension.proj.controller;
 
-import com.fileextension.proj.dto.CustomExtensionDto;
-import com.fileextension.proj.dto.FixedExtensionDto;
-import com.fileextension.proj.service.ExtensionService;
+import com.fileextension.proj.service.page.IndexPageCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.WebRequest;
 
-import java.io.File;
-import java.util.Arrays;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class WebController {
 
-    private final ExtensionService extensionService;
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
 
+    private final IndexPageCache indexPageCache;
+
+    // 메인 페이지 (조각별로 캐시된 HTML을 이어 붙임 - 차단 목록/업로드 목록이 그대로면 304)
     @GetMapping("/")
-    public String index(Model model) {
+    public ResponseEntity<byte[]> index(WebRequest webRequest) {
         try {
-            // 고정 확장자 목록 조회
-            List<FixedExtensionDto> fixedExtensions = extensionService.getAllFixedExtensions();
-            model.addAttribute("fixedExtensions", fixedExtensions);
-
-            // 커스텀 확장자 목록 조회
-            List<CustomExtensionDto> customExtensions = extensionService.getAllCustomExtensions();
-            model.addAttribute("customExtensions", customExtensions);
-
-            // 업로드된 파일 목록 추가
-            String uploadDir = "./uploads";
-            File dir = new File(uploadDir);
-            if (!dir.exists()) dir.mkdirs();
-            String[] files = dir.list();
-            List<String> uploadedFiles = files != null ? Arrays.asList(files) : List.of();
-            model.addAttribute("uploadedFiles", uploadedFiles);
-
-            return "index";
+            if (webRequest.checkNotModified(indexPageCache.currentEtag())) {
+                return null;
+            }
+            IndexPageCache.Page page = indexPageCache.current();
+            return ResponseEntity.ok()
+                    .eTag(page.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(TEXT_HTML_UTF8)
+                    .body(page.body());
         } catch (Exception e) {
             log.error("메인 페이지 로딩 실패: {}", e.getMessage());
-            model.addAttribute("error", "페이지 로딩에 실패했습니다.");
-            return "error";
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .contentType(TEXT_HTML_UTF8)
+                    .body(indexPageCache.renderError("페이지 로딩에 실패했습니다."));
         }
     }
 
 
-} 
\ No newline at end of file
+}
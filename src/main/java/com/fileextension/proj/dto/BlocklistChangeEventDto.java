@@ -0,0 +1,15 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlocklistChangeEventDto {
+    private String extensionName;
+    private boolean wasBlocked;   // 변경 전 차단 여부
+    private boolean blocked;      // 변경 후 차단 여부
+    private long version;         // 변경이 반영된 차단 목록 버전
+}
@@ -0,0 +1,15 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomExtensionBulkRequestDto {
+    private List<String> add;      // 추가할 확장자
+    private List<String> remove;   // 삭제할 확장자
+}
@@ -0,0 +1,19 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomExtensionBulkResultDto {
+    private int added;
+    private int removed;
+    private int unchanged;                 // 이미 같은 상태라 건너뛴 수
+    private List<String> invalid;          // 유효하지 않은 확장자명
+    private List<String> fixedExtensions;  // 고정 확장자와 겹쳐 건너뛴 확장자
+    private long totalCount;               // 반영 후 커스텀 확장자 수
+}
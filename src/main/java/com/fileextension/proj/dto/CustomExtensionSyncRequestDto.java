@@ -0,0 +1,14 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomExtensionSyncRequestDto {
+    private List<String> extensionNames;   // 동기화 후 남을 커스텀 확장자 전체 목록
+}
@@ -0,0 +1,13 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileLinkRequestDto {
+    private String sha256;
+    private String filename;
+}
@@ -0,0 +1,14 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileManifestRequestDto {
+    private List<String> hashes;   // 업로드할 파일들의 SHA-256 (16진수)
+}
@@ -0,0 +1,15 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileManifestResponseDto {
+    private List<String> existing;   // 서버에 이미 있는 내용 (링크 요청으로 등록 가능)
+    private List<String> missing;    // 업로드가 필요한 내용
+}
@@ -0,0 +1,15 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileUploadResultDto {
+    private String originalFilename;
+    private boolean success;
+    private String filename;    // 저장된 파일명 (성공 시)
+    private String message;     // 실패 사유
+}
@@ -0,0 +1,16 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileVerdictDto {
+    private String filename;
+    private boolean allowed;
+    private String reason;         // 거부 사유 코드 (invalid_extension, blocked_extension, double_extension, magic_bypass ...)
+    private String message;
+    private String detectedType;   // 헤더를 보낸 경우 매직 바이트로 감지된 형식
+}
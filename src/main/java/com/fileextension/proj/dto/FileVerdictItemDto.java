@@ -0,0 +1,13 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileVerdictItemDto {
+    private String filename;
+    private byte[] header;   // 파일 앞부분 바이트 (선택, JSON에서는 base64)
+}
@@ -0,0 +1,15 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FileVerdictResponseDto {
+    private long blocklistVersion;   // 판정에 사용한 차단 목록 버전
+    private List<FileVerdictDto> verdicts;
+}
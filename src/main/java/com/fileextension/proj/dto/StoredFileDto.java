@@ -0,0 +1,14 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredFileDto {
+    private String filename;
+    private long size;
+    private String sha256;
+}
@@ -0,0 +1,17 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionDto {
+    private String sessionId;
+    private String filename;
+    private long size;
+    private long offset;            // 서버가 받은 바이트 수 (다음 청크 시작 위치)
+    private long maxChunkSize;
+    private String storedFilename;  // 완료 후 저장된 파일명
+}
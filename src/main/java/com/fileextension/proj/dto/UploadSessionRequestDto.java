@@ -0,0 +1,13 @@
+package com.fileextension.proj.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionRequestDto {
+    private String filename;
+    private long size;      // 전체 파일 크기 (바이트)
+}
@@ -0,0 +1,39 @@
+package com.fileextension.proj.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 차단 목록 변경 기록. 다른 노드는 자신의 버전 이후 기록만 읽어 스냅샷에 반영합니다.
+ */
+@Entity
+@Table(name = "blocklist_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class BlocklistChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "version", nullable = false, unique = true)
+    private Long version;
+
+    @Column(name = "extension_name", nullable = false, length = 50)
+    private String extensionName;
+
+    @Column(name = "is_blocked", nullable = false)
+    private Boolean isBlocked;
+
+    @CreatedDate
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+}
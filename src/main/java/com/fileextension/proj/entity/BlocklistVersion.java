@@ -0,0 +1,25 @@
+package com.fileextension.proj.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 차단 목록 버전 (행 하나). 차단 상태가 바뀔 때마다 같은 트랜잭션에서 1씩 올라갑니다.
+ */
+@Entity
+@Table(name = "blocklist_version")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlocklistVersion {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
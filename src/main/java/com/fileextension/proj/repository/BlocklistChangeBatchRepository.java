@@ -0,0 +1,47 @@
+package com.fileextension.proj.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 차단 목록 변경 기록 대량 추가 (JDBC 배치)
+ */
+@Repository
+@RequiredArgsConstructor
+public class BlocklistChangeBatchRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * firstVersion부터 1씩 늘려 가며 변경을 기록합니다.
+     */
+    public void insertAll(long firstVersion, Collection<String> extensionNames, boolean blocked) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(Math.min(extensionNames.size(), BATCH_SIZE));
+        long version = firstVersion;
+        for (String extensionName : extensionNames) {
+            rows.add(new Object[]{version++, extensionName, blocked, now});
+            if (rows.size() == BATCH_SIZE) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            insert(rows);
+        }
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO blocklist_changes (version, extension_name, is_blocked, changed_at) VALUES (?, ?, ?, ?)", rows);
+    }
+}
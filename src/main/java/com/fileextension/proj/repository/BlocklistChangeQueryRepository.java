@@ -0,0 +1,57 @@
+package com.fileextension.proj.repository;
+
+import com.fileextension.proj.entity.BlocklistChange;
+import com.fileextension.proj.entity.BlocklistVersion;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static com.fileextension.proj.entity.QBlocklistChange.blocklistChange;
+import static com.fileextension.proj.entity.QBlocklistVersion.blocklistVersion;
+
+@Repository
+@RequiredArgsConstructor
+public class BlocklistChangeQueryRepository {
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 현재 차단 목록 버전 (행이 없으면 0)
+     */
+    public long findCurrentVersion() {
+        Long version = queryFactory
+            .select(blocklistVersion.version)
+            .from(blocklistVersion)
+            .where(blocklistVersion.id.eq(BlocklistVersion.SINGLETON_ID))
+            .fetchOne();
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * 버전을 delta만큼 올립니다. 행 잠금이 커밋까지 유지되므로 버전 순서가 커밋 순서와 같습니다.
+     */
+    public long incrementVersion(long delta) {
+        return queryFactory
+            .update(blocklistVersion)
+            .set(blocklistVersion.version, blocklistVersion.version.add(delta))
+            .where(blocklistVersion.id.eq(BlocklistVersion.SINGLETON_ID))
+            .execute();
+    }
+
+    public List<BlocklistChange> findChangesAfter(long version) {
+        return queryFactory
+            .selectFrom(blocklistChange)
+            .where(blocklistChange.version.gt(version))
+            .orderBy(blocklistChange.version.asc())
+            .fetch();
+    }
+
+    public long deleteChangesBefore(long version) {
+        return queryFactory
+            .delete(blocklistChange)
+            .where(blocklistChange.version.lt(version))
+            .execute();
+    }
+}
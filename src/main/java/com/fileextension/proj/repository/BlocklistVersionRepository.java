@@ -0,0 +1,9 @@
+package com.fileextension.proj.repository;
+
+import com.fileextension.proj.entity.BlocklistVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BlocklistVersionRepository extends JpaRepository<BlocklistVersion, Long> {
+}
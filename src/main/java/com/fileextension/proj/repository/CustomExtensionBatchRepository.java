@@ -0,0 +1,51 @@
+package com.fileextension.proj.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커스텀 확장자 대량 추가/삭제. IDENTITY 키를 돌려받지 않는 JDBC 배치로 처리합니다.
+ * (JPA save는 IDENTITY 전략 때문에 한 건씩 INSERT 됨)
+ */
+@Repository
+@RequiredArgsConstructor
+public class CustomExtensionBatchRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(Collection<String> extensionNames) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        batchUpdate("INSERT INTO custom_extensions (extension_name, created_at) VALUES (?, ?)",
+                extensionNames, extensionName -> new Object[]{extensionName, now});
+    }
+
+    public void deleteAllByExtensionNames(Collection<String> extensionNames) {
+        batchUpdate("DELETE FROM custom_extensions WHERE extension_name = ?",
+                extensionNames, extensionName -> new Object[]{extensionName});
+    }
+
+    private void batchUpdate(String sql, Collection<String> extensionNames,
+                             Function<String, Object[]> toRow) {
+        List<Object[]> rows = new ArrayList<>(Math.min(extensionNames.size(), BATCH_SIZE));
+        for (String extensionName : extensionNames) {
+            rows.add(toRow.apply(extensionName));
+            if (rows.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+}
@@ -22,10 +22,19 @@ public class CustomExtensionQueryRepository {
             .fetch();
     }
 
-    public long countCustomExtensions() {
+    public List<String> findAllExtensionNames() {
         return queryFactory
-            .selectFrom(customExtension)
-            .fetchCount();
+            .select(customExtension.extensionName)
+            .from(customExtension)
+            .fetch();
+    }
+
+    public long countCustomExtensions() {
+        Long count = queryFactory
+            .select(customExtension.count())
+            .from(customExtension)
+            .fetchOne();
+        return count != null ? count : 0L;
     }
 
     public boolean existsByExtensionName(String extensionName) {
@@ -34,6 +34,21 @@ public class FixedExtensionQueryRepository {
         );
     }
 
+    public List<String> findAllBlockedExtensionNames() {
+        return queryFactory
+            .select(fixedExtension.extensionName)
+            .from(fixedExtension)
+            .where(fixedExtension.isBlocked.isTrue())
+            .fetch();
+    }
+
+    public List<String> findAllExtensionNames() {
+        return queryFactory
+            .select(fixedExtension.extensionName)
+            .from(fixedExtension)
+            .fetch();
+    }
+
     public boolean existsByExtensionName(String extensionName) {
         return queryFactory
             .selectOne()
@@ -1,9 +1,13 @@
 package com.fileextension.proj.service;
 
 import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.CustomExtensionBulkRequestDto;
+import com.fileextension.proj.dto.CustomExtensionBulkResultDto;
 import com.fileextension.proj.dto.CustomExtensionDto;
+import com.fileextension.proj.dto.CustomExtensionSyncRequestDto;
 import com.fileextension.proj.dto.ExtensionRequestDto;
 import com.fileextension.proj.dto.FixedExtensionDto;
+import com.fileextension.proj.service.blocklist.BlocklistSnapshot;
 
 import java.util.List;
 
@@ -17,8 +21,14 @@ public interface ExtensionService {
     List<CustomExtensionDto> getAllCustomExtensions();
     ApiResponseDto<CustomExtensionDto> addCustomExtension(ExtensionRequestDto request);
     ApiResponseDto<Void> deleteCustomExtension(Long id);
+    // 커스텀 확장자 대량 추가/삭제 (한 트랜잭션)
+    ApiResponseDto<CustomExtensionBulkResultDto> bulkUpdateCustomExtensions(CustomExtensionBulkRequestDto request);
+    // 커스텀 확장자를 주어진 목록과 같게 맞춤 (차이만 추가/삭제)
+    ApiResponseDto<CustomExtensionBulkResultDto> syncCustomExtensions(CustomExtensionSyncRequestDto request);
     //커스텀 확장자 갯수 조회
     long getCustomExtensionCount();
+    // 커스텀 확장자 최대 개수
+    int getMaxCustomExtensionCount();
     
     // 유효성 검사
     boolean isValidExtensionName(String extensionName);
@@ -26,4 +36,6 @@ public interface ExtensionService {
     boolean isFixedExtension(String extensionName);
     // 확장자 차단 여부 확인 (고정 + 커스텀)
     boolean isExtensionBlocked(String extensionName);
+    // 현재 차단 목록 스냅샷 (메모리)
+    BlocklistSnapshot getBlocklistSnapshot();
 } 
\ No newline at end of file
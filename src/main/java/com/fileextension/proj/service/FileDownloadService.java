@@ -0,0 +1,18 @@
+package com.fileextension.proj.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * 업로드된 파일을 내려줍니다. 본문은 JVM 힙을 거치지 않도록 sendfile/FileChannel.transferTo로 전송합니다.
+ */
+public interface FileDownloadService {
+
+    /**
+     * 파일을 응답에 씁니다. (Range, If-Range, ETag/If-None-Match, If-Modified-Since 처리 포함)
+     * 파일이 없으면 404, 파일명이 잘못되었으면 400, 만족할 수 없는 Range면 416으로 응답합니다.
+     */
+    void download(String filename, HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.fileextension.proj.service;
+
+import com.fileextension.proj.dto.StoredFileDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface FileStorageService {
+
+    /**
+     * 업로드 스트림을 한 번만 읽으면서 헤더 검사, SHA-256 계산, 디스크 저장을 함께 수행합니다.
+     * 검사에서 거부되면 FileRejectedException이 발생하고 생성 중이던 파일은 삭제됩니다.
+     */
+    StoredFileDto store(InputStream in, String originalFilename, HeaderInspector inspector) throws IOException;
+
+    /**
+     * 이미 저장된 내용(SHA-256)에 새 파일명을 연결합니다. 업로드 없이 중복 파일을 등록할 때 사용합니다.
+     * 중복 제거 저장소가 꺼져 있거나 해당 내용이 없으면 FileRejectedException이 발생합니다.
+     */
+    StoredFileDto storeExisting(String sha256, String originalFilename, HeaderInspector inspector) throws IOException;
+
+    /**
+     * 업로드 디렉토리 안에서 이미 다 받은 임시 파일을 업로드 파일로 옮깁니다. (청크 업로드 완료 시)
+     * 검증은 호출하는 쪽에서 끝낸 상태여야 합니다.
+     */
+    StoredFileDto storeReceived(Path received, String originalFilename, long size, String sha256) throws IOException;
+
+    // 서버가 이미 가지고 있는 내용의 해시 목록
+    Set<String> findExistingHashes(Collection<String> sha256s);
+
+    // 업로드 파일 삭제 (마지막 참조면 내용도 삭제)
+    void delete(String filename) throws IOException;
+
+    // 파일명이 저장된 실제 경로 (저장 레이아웃 기준)
+    Path resolve(String filename);
+
+    // 업로드된 파일명 목록 (최신순, 메모리 인덱스에서 조회)
+    List<String> listFiles();
+
+    /**
+     * 업로드 본문의 앞부분(헤더)을 검사합니다.
+     */
+    interface HeaderInspector {
+
+        // 검사에 필요한 헤더 길이
+        int headerLength();
+
+        // 거부 사유를 반환합니다. 통과하면 null
+        String inspect(byte[] header, int length);
+
+        // 디스크에 다 쓴 뒤 전체 내용을 검사합니다 (압축 파일 내부 등). 거부 사유를 반환하고 통과하면 null
+        default String inspectContent(Path file, long size) throws IOException {
+            return null;
+        }
+    }
+}
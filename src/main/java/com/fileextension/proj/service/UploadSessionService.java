@@ -0,0 +1,28 @@
+package com.fileextension.proj.service;
+
+import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.UploadSessionDto;
+import com.fileextension.proj.dto.UploadSessionRequestDto;
+
+import java.io.InputStream;
+
+/**
+ * 이어받기 가능한 청크 업로드 세션. 실패 응답의 errorCode에는 HTTP 상태 코드가 들어갑니다.
+ */
+public interface UploadSessionService {
+
+    // 세션 생성 (파일명 검증 1~4단계, 크기 제한 확인, 파일 공간 미리 할당)
+    ApiResponseDto<UploadSessionDto> createSession(UploadSessionRequestDto request);
+
+    // 현재까지 받은 offset 조회
+    ApiResponseDto<UploadSessionDto> getSession(String sessionId);
+
+    // offset 위치에 청크 기록. 첫 청크(offset 0)에서 매직 바이트 검증(5단계)
+    ApiResponseDto<UploadSessionDto> appendChunk(String sessionId, long offset, InputStream body);
+
+    // 모든 바이트를 받은 세션을 업로드 파일로 저장
+    ApiResponseDto<UploadSessionDto> completeSession(String sessionId);
+
+    // 세션 취소
+    ApiResponseDto<Void> abortSession(String sessionId);
+}
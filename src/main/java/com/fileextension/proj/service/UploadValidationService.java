@@ -0,0 +1,19 @@
+package com.fileextension.proj.service;
+
+import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.FileVerdictItemDto;
+import com.fileextension.proj.dto.FileVerdictResponseDto;
+
+import java.util.List;
+
+public interface UploadValidationService {
+
+    // 파일명 검증 (1~4단계: 확장자 유효성, 차단 여부, 우회 공격) - 본문을 읽기 전
+    ApiResponseDto<Void> validateFilename(String originalFilename);
+
+    // 업로드 본문 헤더의 매직 바이트 검증 (5단계)
+    FileStorageService.HeaderInspector headerInspector(String originalFilename);
+
+    // 업로드 전 사전 검사 - 파일명(+선택적 헤더 바이트) 목록을 하나의 차단 목록 스냅샷으로 판정 (1~5단계)
+    FileVerdictResponseDto evaluate(List<FileVerdictItemDto> files);
+}
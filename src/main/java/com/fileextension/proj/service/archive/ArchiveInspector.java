@@ -0,0 +1,875 @@
+package com.fileextension.proj.service.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+/**
+ * 업로드된 ZIP / TAR / GZIP 파일 안의 항목 이름과 앞부분을 검사합니다.
+ * ZIP은 파일 끝에서 중앙 디렉토리를 찾아 읽고, TAR은 헤더 블록만 따라가며 본문은 건너뛰므로
+ * 검사 비용은 압축 파일 크기가 아니라 항목 수에 비례합니다.
+ * 항목마다 매직 바이트 검사에 필요한 앞부분만 풀어 보고, 중첩된 압축 파일은 같은 방식으로 다시 검사합니다.
+ * 깊이 / 항목 수 / 압축 해제 크기 / 시간 한도를 넘으면 압축 폭탄으로 보고 거부합니다.
+ */
+@Component
+@Slf4j
+public class ArchiveInspector {
+
+    public static final String ZIP = "zip";
+    public static final String GZIP = "gz";
+    public static final String TAR = "tar";
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int EOCD_SIZE = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_EOCD_SIZE = 56;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int FLAG_ENCRYPTED = 0x0001;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+    private static final int FLAG_UTF8 = 0x0800;
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    private static final int TAR_BLOCK_SIZE = 512;
+    private static final int TAR_MAGIC_OFFSET = 257;
+    // GNU 긴 이름 / PAX 헤더로 받을 최대 크기
+    private static final int MAX_TAR_TEXT_SIZE = 64 * 1024;
+    // GZIP 헤더에서 원래 파일명(FNAME)을 찾을 때 읽는 최대 길이
+    private static final int GZIP_HEADER_LIMIT = 4096;
+
+    @Value("${file.upload.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.upload.archive.max-depth:4}")
+    private int maxDepth;
+
+    @Value("${file.upload.archive.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${file.upload.archive.max-inflated-size:64MB}")
+    private DataSize maxInflatedSize;
+
+    @Value("${file.upload.archive.timeout:2s}")
+    private Duration timeout;
+
+    /**
+     * 항목 검사 기준 (차단 목록 스냅샷과 시그니처 테이블은 호출하는 쪽에서 고정)
+     */
+    public interface EntryPolicy {
+
+        // 항목 앞부분 검사에 필요한 길이
+        int headerLength();
+
+        // 항목 이름(경로 포함) 검사. 거부 사유를 반환하고 통과하면 null
+        String checkName(String entryName);
+
+        // 항목 앞부분(매직 바이트) 검사. 거부 사유를 반환하고 통과하면 null
+        String checkHeader(String entryName, byte[] header, int length);
+    }
+
+    /**
+     * 거부 사유. limitExceeded이면 항목 때문이 아니라 검사 한도(압축 폭탄 의심)를 넘어 거부된 것입니다.
+     */
+    public record Finding(String message, boolean limitExceeded) {
+    }
+
+    public static boolean isArchiveType(String detectedType) {
+        return ZIP.equals(detectedType) || GZIP.equals(detectedType) || TAR.equals(detectedType);
+    }
+
+    /**
+     * 저장된 압축 파일을 검사합니다. 압축 파일이 아니거나 통과하면 null을 반환합니다.
+     *
+     * @param detectedType 매직 바이트로 감지한 형식 (zip / gz / tar)
+     */
+    public Finding inspect(Path file, String detectedType, EntryPolicy policy) throws IOException {
+        if (!enabled || !isArchiveType(detectedType)) {
+            return null;
+        }
+        Budget budget = new Budget();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Source source = of(channel);
+            switch (detectedType) {
+                case ZIP -> inspectZip(source, policy, budget, 1);
+                case TAR -> inspectTar(new SourceInputStream(source, 0, source.size()), policy, budget, 1);
+                default -> inspectGzip(new SourceInputStream(source, 0, source.size()), policy, budget, 1);
+            }
+            return null;
+        } catch (Rejected e) {
+            log.debug("압축 파일 검사 거부: {} ({})", file.getFileName(), e.getMessage());
+            return new Finding(e.getMessage(), e.limitExceeded);
+        } catch (ZipException | EOFException e) {
+            return new Finding(corrupt().getMessage(), false);
+        }
+    }
+
+    // ===== ZIP: 끝에서 중앙 디렉토리를 찾아 항목 목록만 읽음 =====
+
+    private void inspectZip(Source source, EntryPolicy policy, Budget budget, int depth) throws IOException {
+        budget.depth(depth);
+        long size = source.size();
+        if (size < EOCD_SIZE) {
+            throw corrupt();
+        }
+
+        // 1. 중앙 디렉토리 끝 레코드(EOCD) - 주석 때문에 끝에서 최대 22 + 65535 바이트 안에 있음
+        int tailLength = (int) Math.min(size, EOCD_SIZE + MAX_COMMENT_LENGTH);
+        long tailStart = size - tailLength;
+        ByteBuffer tail = readAt(source, tailStart, tailLength);
+        int eocd = -1;
+        for (int i = tailLength - EOCD_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == EOCD_SIGNATURE) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) {
+            throw corrupt();
+        }
+        long eocdPosition = tailStart + eocd;
+        long count = tail.getShort(eocd + 10) & 0xFFFF;
+        long directorySize = tail.getInt(eocd + 12) & 0xFFFFFFFFL;
+        long directoryOffset = tail.getInt(eocd + 16) & 0xFFFFFFFFL;
+
+        // 2. 값이 넘치면 ZIP64 끝 레코드에서 다시 읽음
+        if (count == 0xFFFF || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+            if (eocdPosition < ZIP64_LOCATOR_SIZE) {
+                throw corrupt();
+            }
+            ByteBuffer locator = readAt(source, eocdPosition - ZIP64_LOCATOR_SIZE, ZIP64_LOCATOR_SIZE);
+            long zip64Position = locator.getLong(8);
+            if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE
+                    || zip64Position < 0 || zip64Position + ZIP64_EOCD_SIZE > eocdPosition) {
+                throw corrupt();
+            }
+            ByteBuffer zip64 = readAt(source, zip64Position, ZIP64_EOCD_SIZE);
+            if (zip64.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+                throw corrupt();
+            }
+            count = zip64.getLong(32);
+            directorySize = zip64.getLong(40);
+            directoryOffset = zip64.getLong(48);
+        }
+        if (count < 0 || directorySize < 0 || directoryOffset < 0 || directoryOffset + directorySize > eocdPosition) {
+            throw corrupt();
+        }
+        if (count > maxEntries) {
+            throw budget.tooManyEntries();
+        }
+
+        // 3. 중앙 디렉토리를 순서대로 읽으며 이름 검사, 본문은 항목 위치에서 앞부분만 읽음
+        InputStream directory = new BufferedInputStream(new SourceInputStream(source, directoryOffset, directorySize), 64 * 1024);
+        byte[] fixed = new byte[CENTRAL_HEADER_SIZE];
+        ByteBuffer header = ByteBuffer.wrap(fixed).order(ByteOrder.LITTLE_ENDIAN);
+        // 항목마다 새로 만들지 않고 reset해서 재사용
+        Inflater inflater = new Inflater(true);
+        try {
+            for (long i = 0; i < count; i++) {
+                inspectCentralEntry(source, directory, fixed, header, directoryOffset, inflater, policy, budget, depth);
+            }
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void inspectCentralEntry(Source source, InputStream directory, byte[] fixed, ByteBuffer header,
+                                     long directoryOffset, Inflater inflater, EntryPolicy policy,
+                                     Budget budget, int depth) throws IOException {
+        budget.entry();
+        if (directory.readNBytes(fixed, 0, CENTRAL_HEADER_SIZE) != CENTRAL_HEADER_SIZE
+                || header.getInt(0) != CENTRAL_HEADER_SIGNATURE) {
+            throw corrupt();
+        }
+        int flags = header.getShort(8) & 0xFFFF;
+        int method = header.getShort(10) & 0xFFFF;
+        long compressedSize = header.getInt(20) & 0xFFFFFFFFL;
+        long uncompressedSize = header.getInt(24) & 0xFFFFFFFFL;
+        int nameLength = header.getShort(28) & 0xFFFF;
+        int extraLength = header.getShort(30) & 0xFFFF;
+        int commentLength = header.getShort(32) & 0xFFFF;
+        long localOffset = header.getInt(42) & 0xFFFFFFFFL;
+
+        byte[] nameBytes = readExactly(directory, nameLength);
+        byte[] extra = readExactly(directory, extraLength);
+        directory.skipNBytes(commentLength);
+
+        if (compressedSize == ZIP64_MAGIC || uncompressedSize == ZIP64_MAGIC || localOffset == ZIP64_MAGIC) {
+            // ZIP64 확장 필드에는 0xFFFFFFFF로 표시된 값만 순서대로 들어 있음
+            ByteBuffer values = zip64Extra(extra);
+            if (uncompressedSize == ZIP64_MAGIC) {
+                uncompressedSize = nextLong(values);
+            }
+            if (compressedSize == ZIP64_MAGIC) {
+                compressedSize = nextLong(values);
+            }
+            if (localOffset == ZIP64_MAGIC) {
+                localOffset = nextLong(values);
+            }
+        }
+
+        // 순차로 푸는 도구는 로컬 헤더를 따르므로, 이름이 같은지 먼저 확인 (디렉토리 항목 포함)
+        long dataStart = checkLocalHeader(source, localOffset, directoryOffset, nameBytes, method,
+                compressedSize, uncompressedSize);
+
+        String name = new String(nameBytes, (flags & FLAG_UTF8) != 0 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+        if (name.endsWith("/")) {
+            return;
+        }
+        reject(policy.checkName(name));
+        // 암호화된 항목은 내용을 볼 수 없으므로 이름만 검사
+        if ((flags & FLAG_ENCRYPTED) != 0) {
+            return;
+        }
+        inspectZipEntry(source, name, method, dataStart, compressedSize, uncompressedSize, directoryOffset,
+                inflater, policy, budget, depth);
+    }
+
+    /**
+     * 로컬 헤더가 중앙 디렉토리 항목과 같은 이름/압축 방식/크기인지 확인하고 본문 시작 위치를 반환합니다.
+     * 크기는 데이터 기술자를 쓰지 않고(플래그 3번 비트) ZIP64 표시가 아닐 때만 비교합니다.
+     */
+    private static long checkLocalHeader(Source source, long localOffset, long directoryOffset, byte[] centralName,
+                                         int method, long compressedSize, long uncompressedSize) throws IOException {
+        if (localOffset < 0 || localOffset + LOCAL_HEADER_SIZE > directoryOffset) {
+            throw corrupt();
+        }
+        ByteBuffer local = readAt(source, localOffset, LOCAL_HEADER_SIZE);
+        if (local.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw corrupt();
+        }
+        int localFlags = local.getShort(6) & 0xFFFF;
+        int localMethod = local.getShort(8) & 0xFFFF;
+        long localCompressedSize = local.getInt(18) & 0xFFFFFFFFL;
+        long localUncompressedSize = local.getInt(22) & 0xFFFFFFFFL;
+        int nameLength = local.getShort(26) & 0xFFFF;
+        int extraLength = local.getShort(28) & 0xFFFF;
+        long nameStart = localOffset + LOCAL_HEADER_SIZE;
+        long dataStart = nameStart + nameLength + extraLength;
+        if (dataStart > directoryOffset) {
+            throw corrupt();
+        }
+
+        if (nameLength != centralName.length || !Arrays.equals(readAt(source, nameStart, nameLength).array(), centralName)) {
+            throw new Rejected("압축 파일 항목 이름이 중앙 디렉토리와 로컬 헤더에서 다릅니다.", false);
+        }
+        boolean sizesInLocalHeader = (localFlags & FLAG_DATA_DESCRIPTOR) == 0
+                && localCompressedSize != ZIP64_MAGIC && localUncompressedSize != ZIP64_MAGIC;
+        if (localMethod != method || (sizesInLocalHeader
+                && (localCompressedSize != compressedSize || localUncompressedSize != uncompressedSize))) {
+            throw new Rejected("압축 파일 항목 정보가 중앙 디렉토리와 로컬 헤더에서 다릅니다.", false);
+        }
+        return dataStart;
+    }
+
+    private void inspectZipEntry(Source source, String name, int method, long dataStart, long compressedSize,
+                                 long uncompressedSize, long directoryOffset, Inflater inflater, EntryPolicy policy,
+                                 Budget budget, int depth) throws IOException {
+        if (compressedSize < 0 || dataStart + compressedSize > directoryOffset) {
+            throw corrupt();
+        }
+
+        if (method == METHOD_STORED) {
+            // 무압축 항목은 크기 필드로만 끝을 알 수 있으므로 두 크기가 같아야 함
+            if (compressedSize != uncompressedSize) {
+                throw corrupt();
+            }
+            // 압축 파일 안의 구간을 그대로 읽음 (중첩 ZIP도 끝에서부터 찾을 수 있음)
+            Source entry = region(source, dataStart, compressedSize);
+            inspectEntry(name, new SourceInputStream(entry, 0, compressedSize), entry, policy, budget, depth);
+        } else if (method == METHOD_DEFLATED) {
+            // 크기 필드(0일 수도 있음)를 믿지 않고 deflate 스트림이 끝날 때까지 풂 - 중앙 디렉토리 앞까지만 읽음
+            inflater.reset();
+            long available = directoryOffset - dataStart;
+            InputStream compressed = new SourceInputStream(source, dataStart, available);
+            int bufferSize = (int) Math.max(1, Math.min(8192, available));
+            InputStream in = new InflatedCounter(new InflaterInputStream(compressed, inflater, bufferSize), budget);
+            inspectEntry(name, in, null, policy, budget, depth);
+        }
+        // 그 외 압축 방식(bzip2, lzma 등)은 이름만 검사
+    }
+
+    // 중첩된 ZIP을 순차적으로 읽음 (압축된 중첩 파일은 임의 위치 읽기가 안 되므로 로컬 헤더를 따라감)
+    private void inspectZipStream(InputStream in, EntryPolicy policy, Budget budget, int depth) throws IOException {
+        budget.depth(depth);
+        try (ZipInputStream zip = new ZipInputStream(nonClosing(in), StandardCharsets.ISO_8859_1)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                budget.entry();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                reject(policy.checkName(entry.getName()));
+                InputStream data = new InflatedCounter(nonClosing(zip), budget);
+                inspectEntry(entry.getName(), data, null, policy, budget, depth);
+                // 다음 로컬 헤더까지 가려면 나머지를 풀어야 함 (압축 해제 한도 안에서)
+                data.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+    }
+
+    // ===== TAR: 512바이트 헤더 블록만 따라가고 본문은 건너뜀 =====
+
+    private void inspectTar(InputStream in, EntryPolicy policy, Budget budget, int depth) throws IOException {
+        budget.depth(depth);
+        byte[] block = new byte[TAR_BLOCK_SIZE];
+        String longName = null;
+        while (true) {
+            int read = in.readNBytes(block, 0, TAR_BLOCK_SIZE);
+            if (read == 0 || (read == TAR_BLOCK_SIZE && isZeroBlock(block))) {
+                return;
+            }
+            if (read < TAR_BLOCK_SIZE) {
+                throw corrupt();
+            }
+            budget.entry();
+
+            long size = parseTarSize(block);
+            if (size < 0) {
+                throw corrupt();
+            }
+            long padding = (TAR_BLOCK_SIZE - size % TAR_BLOCK_SIZE) % TAR_BLOCK_SIZE;
+            byte type = block[156];
+            String name = longName != null ? longName : tarName(block);
+            longName = null;
+
+            switch (type) {
+                case 'L' -> {
+                    // GNU 긴 이름 - 다음 항목의 이름
+                    longName = cString(readTarText(in, size), 0, (int) size);
+                    in.skipNBytes(padding);
+                    continue;
+                }
+                case 'x' -> {
+                    // PAX 확장 헤더 - path가 있으면 다음 항목의 이름
+                    longName = paxPath(readTarText(in, size));
+                    in.skipNBytes(padding);
+                    continue;
+                }
+                case 'g', '5' -> {
+                    // 전역 PAX 헤더, 디렉토리
+                    in.skipNBytes(size + padding);
+                    continue;
+                }
+                default -> {
+                }
+            }
+
+            reject(policy.checkName(name));
+            boolean regular = type == '0' || type == 0 || type == '7';
+            if (!regular || size == 0) {
+                in.skipNBytes(size + padding);
+                continue;
+            }
+
+            // 디스크에 있는 TAR이면 항목 구간을 임의 위치로 읽을 수 있음
+            Source entrySource = in instanceof SourceInputStream sourceIn ? region(sourceIn.source, sourceIn.position, size) : null;
+            LimitedInputStream entry = new LimitedInputStream(in, size);
+            inspectEntry(name, entry, entrySource, policy, budget, depth);
+            in.skipNBytes(entry.remaining + padding);
+        }
+    }
+
+    // ===== GZIP: 원래 파일명 확인 후 풀린 내용의 앞부분을 검사 (대개 TAR) =====
+
+    private void inspectGzip(InputStream in, EntryPolicy policy, Budget budget, int depth) throws IOException {
+        budget.depth(depth);
+        budget.entry();
+        BufferedInputStream buffered = new BufferedInputStream(in, GZIP_HEADER_LIMIT);
+        buffered.mark(GZIP_HEADER_LIMIT);
+        String member = readGzipName(buffered);
+        buffered.reset();
+        if (member != null) {
+            reject(policy.checkName(member));
+        }
+
+        try (GZIPInputStream gzip = new GZIPInputStream(nonClosing(buffered), 8192)) {
+            inspectEntry(member != null ? member : "", new InflatedCounter(gzip, budget), null, policy, budget, depth);
+        }
+    }
+
+    // ===== 공통 =====
+
+    /**
+     * 항목 앞부분을 검사하고, 압축 파일이면 한 단계 깊이 들어가 검사합니다.
+     *
+     * @param source 항목을 임의 위치로 읽을 수 있으면 그 구간 (없으면 null)
+     */
+    private void inspectEntry(String name, InputStream in, Source source, EntryPolicy policy,
+                              Budget budget, int depth) throws IOException {
+        byte[] header = new byte[Math.max(policy.headerLength(), TAR_MAGIC_OFFSET + 5)];
+        int length = in.readNBytes(header, 0, header.length);
+        reject(policy.checkHeader(name, header, length));
+
+        String nested = archiveType(header, length);
+        if (nested == null) {
+            return;
+        }
+        if (ZIP.equals(nested) && source != null) {
+            inspectZip(source, policy, budget, depth + 1);
+            return;
+        }
+        InputStream rest = new SequenceInputStream(new ByteArrayInputStream(header, 0, length), in);
+        switch (nested) {
+            case ZIP -> inspectZipStream(rest, policy, budget, depth + 1);
+            case TAR -> inspectTar(rest, policy, budget, depth + 1);
+            default -> inspectGzip(rest, policy, budget, depth + 1);
+        }
+    }
+
+    // 중첩 검사 대상인 압축 형식 (항목 이름이 아니라 내용으로 판단)
+    private static String archiveType(byte[] header, int length) {
+        if (length >= 4 && header[0] == 'P' && header[1] == 'K' && header[2] == 3 && header[3] == 4) {
+            return ZIP;
+        }
+        if (length >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B) {
+            return GZIP;
+        }
+        if (length >= TAR_MAGIC_OFFSET + 5 && header[TAR_MAGIC_OFFSET] == 'u' && header[TAR_MAGIC_OFFSET + 1] == 's'
+                && header[TAR_MAGIC_OFFSET + 2] == 't' && header[TAR_MAGIC_OFFSET + 3] == 'a'
+                && header[TAR_MAGIC_OFFSET + 4] == 'r') {
+            return TAR;
+        }
+        return null;
+    }
+
+    private static ByteBuffer zip64Extra(byte[] extra) {
+        ByteBuffer buffer = ByteBuffer.wrap(extra).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.remaining() >= 4) {
+            int id = buffer.getShort() & 0xFFFF;
+            int size = buffer.getShort() & 0xFFFF;
+            if (size > buffer.remaining()) {
+                break;
+            }
+            if (id == ZIP64_EXTRA_ID) {
+                return buffer.slice(buffer.position(), size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            buffer.position(buffer.position() + size);
+        }
+        throw corrupt();
+    }
+
+    private static long nextLong(ByteBuffer values) {
+        if (values.remaining() < 8) {
+            throw corrupt();
+        }
+        long value = values.getLong();
+        if (value < 0) {
+            throw corrupt();
+        }
+        return value;
+    }
+
+    private static String tarName(byte[] block) {
+        String name = cString(block, 0, 100);
+        boolean ustar = block[TAR_MAGIC_OFFSET] == 'u' && block[TAR_MAGIC_OFFSET + 1] == 's';
+        if (ustar) {
+            String prefix = cString(block, 345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    // 크기 필드: 8진수 문자열, 또는 첫 바이트 최상위 비트가 켜져 있으면 base-256
+    private static long parseTarSize(byte[] block) {
+        if ((block[124] & 0x80) != 0) {
+            long value = 0;
+            for (int i = 125; i < 136; i++) {
+                if ((value >>> 55) != 0) {
+                    return -1;
+                }
+                value = (value << 8) | (block[i] & 0xFF);
+            }
+            return value;
+        }
+        long value = 0;
+        int i = 124;
+        while (i < 136 && (block[i] == ' ' || block[i] == 0)) {
+            i++;
+        }
+        for (; i < 136 && block[i] != ' ' && block[i] != 0; i++) {
+            if (block[i] < '0' || block[i] > '7' || (value >>> 60) != 0) {
+                return -1;
+            }
+            value = (value << 3) | (block[i] - '0');
+        }
+        return value;
+    }
+
+    private static byte[] readTarText(InputStream in, long size) throws IOException {
+        if (size > MAX_TAR_TEXT_SIZE) {
+            throw corrupt();
+        }
+        return readExactly(in, (int) size);
+    }
+
+    // PAX 레코드("<길이> <키>=<값>\n") 중 path 값
+    private static String paxPath(byte[] data) {
+        int position = 0;
+        while (position < data.length) {
+            int space = position;
+            while (space < data.length && data[space] != ' ') {
+                space++;
+            }
+            int length;
+            try {
+                length = Integer.parseInt(new String(data, position, space - position, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            int valueLength = position + length - space - 2;
+            if (length <= 0 || space >= data.length || position + length > data.length || valueLength < 0) {
+                return null;
+            }
+            String record = new String(data, space + 1, valueLength, StandardCharsets.UTF_8);
+            if (record.startsWith("path=")) {
+                return record.substring(5);
+            }
+            position += length;
+        }
+        return null;
+    }
+
+    // GZIP 헤더의 원래 파일명(FNAME) - 없으면 null
+    private static String readGzipName(InputStream in) throws IOException {
+        byte[] fixed = in.readNBytes(10);
+        if (fixed.length < 10 || (fixed[0] & 0xFF) != 0x1F || (fixed[1] & 0xFF) != 0x8B) {
+            return null;
+        }
+        int flags = fixed[3] & 0xFF;
+        int consumed = fixed.length;
+        if ((flags & 0x04) != 0) {
+            // FEXTRA
+            int low = in.read();
+            int high = in.read();
+            if (high < 0) {
+                return null;
+            }
+            int extraLength = low | (high << 8);
+            consumed += 2 + extraLength;
+            if (consumed >= GZIP_HEADER_LIMIT) {
+                return null;
+            }
+            in.skipNBytes(extraLength);
+        }
+        if ((flags & 0x08) == 0) {
+            return null;
+        }
+        ByteArrayOutputStream name = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) > 0) {
+            if (++consumed >= GZIP_HEADER_LIMIT) {
+                return null;
+            }
+            name.write(b);
+        }
+        return b == 0 ? name.toString(StandardCharsets.ISO_8859_1) : null;
+    }
+
+    private static String cString(byte[] bytes, int offset, int maxLength) {
+        int end = offset;
+        while (end < offset + maxLength && end < bytes.length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] readExactly(InputStream in, int length) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw corrupt();
+        }
+        return bytes;
+    }
+
+    private static ByteBuffer readAt(Source source, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer, position + buffer.position()) < 0) {
+                throw corrupt();
+            }
+        }
+        return buffer;
+    }
+
+    private static void reject(String message) {
+        if (message != null) {
+            throw new Rejected(message, false);
+        }
+    }
+
+    private static Rejected corrupt() {
+        return new Rejected("압축 파일 구조를 확인할 수 없습니다.", false);
+    }
+
+    private static InputStream nonClosing(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public void close() {
+                // 바깥 스트림은 호출한 쪽에서 계속 읽음
+            }
+        };
+    }
+
+    /**
+     * 검사 한도. 압축 파일 하나(중첩 포함)를 검사하는 동안 함께 씁니다.
+     */
+    private final class Budget {
+        private final long deadline = System.nanoTime() + timeout.toNanos();
+        private int entries;
+        private long inflated;
+
+        void entry() {
+            if (++entries > maxEntries) {
+                throw tooManyEntries();
+            }
+            checkTime();
+        }
+
+        void inflated(long bytes) {
+            inflated += bytes;
+            if (inflated > maxInflatedSize.toBytes()) {
+                throw new Rejected("압축 해제 크기가 검사 한도(" + maxInflatedSize.toMegabytes() + "MB)를 넘었습니다.", true);
+            }
+            checkTime();
+        }
+
+        void depth(int depth) {
+            if (depth > maxDepth) {
+                throw new Rejected("중첩된 압축 파일이 검사 한도(" + maxDepth + "단계)보다 깊습니다.", true);
+            }
+        }
+
+        Rejected tooManyEntries() {
+            return new Rejected("압축 파일 항목 수가 검사 한도(" + maxEntries + "개)를 넘었습니다.", true);
+        }
+
+        private void checkTime() {
+            if (System.nanoTime() - deadline > 0) {
+                throw new Rejected("압축 파일 검사 시간이 한도(" + timeout.toMillis() + "ms)를 넘었습니다.", true);
+            }
+        }
+    }
+
+    // 검사를 중단하고 거부 사유를 전달 (재귀를 한 번에 빠져나오기 위해 사용)
+    private static final class Rejected extends RuntimeException {
+        private final boolean limitExceeded;
+
+        Rejected(String message, boolean limitExceeded) {
+            super(message, null, false, false);
+            this.limitExceeded = limitExceeded;
+        }
+    }
+
+    // 임의 위치 읽기가 가능한 압축 파일 (디스크의 파일, 또는 그 안의 무압축 구간)
+    private interface Source {
+        long size() throws IOException;
+
+        int read(ByteBuffer dst, long position) throws IOException;
+    }
+
+    private static Source of(FileChannel channel) {
+        return new Source() {
+            @Override
+            public long size() throws IOException {
+                return channel.size();
+            }
+
+            @Override
+            public int read(ByteBuffer dst, long position) throws IOException {
+                return channel.read(dst, position);
+            }
+        };
+    }
+
+    private static Source region(Source parent, long offset, long length) {
+        return new Source() {
+            @Override
+            public long size() {
+                return length;
+            }
+
+            @Override
+            public int read(ByteBuffer dst, long position) throws IOException {
+                if (position >= length) {
+                    return -1;
+                }
+                int limit = dst.limit();
+                long available = length - position;
+                if (dst.remaining() > available) {
+                    dst.limit(dst.position() + (int) available);
+                }
+                try {
+                    return parent.read(dst, offset + position);
+                } finally {
+                    dst.limit(limit);
+                }
+            }
+        };
+    }
+
+    // Source 구간을 읽는 스트림 - skip은 위치만 옮기므로 TAR 본문을 읽지 않고 건너뜀
+    private static final class SourceInputStream extends InputStream {
+        private final Source source;
+        private final long end;
+        private long position;
+
+        SourceInputStream(Source source, long start, long length) throws IOException {
+            this.source = source;
+            this.position = start;
+            this.end = Math.min(start + length, source.size());
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) <= 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            long remaining = end - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = source.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, end - position));
+            position += skipped;
+            return skipped;
+        }
+    }
+
+    // 항목 길이만큼만 읽는 스트림 (닫아도 바깥 스트림은 닫지 않음)
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // 압축을 풀어 나온 바이트 수를 한도에 더하는 스트림 (skip 포함)
+    private static final class InflatedCounter extends FilterInputStream {
+        private final Budget budget;
+
+        InflatedCounter(InputStream in, Budget budget) {
+            super(in);
+            this.budget = budget;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                budget.inflated(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                budget.inflated(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            budget.inflated(skipped);
+            return skipped;
+        }
+    }
+}
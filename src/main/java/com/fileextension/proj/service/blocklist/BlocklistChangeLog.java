@@ -0,0 +1,99 @@
+package com.fileextension.proj.service.blocklist;
+
+import com.fileextension.proj.entity.BlocklistChange;
+import com.fileextension.proj.entity.BlocklistVersion;
+import com.fileextension.proj.repository.BlocklistChangeBatchRepository;
+import com.fileextension.proj.repository.BlocklistChangeQueryRepository;
+import com.fileextension.proj.repository.BlocklistChangeRepository;
+import com.fileextension.proj.repository.BlocklistVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DB에 저장되는 차단 목록 버전과 변경 기록입니다. 여러 노드가 같은 DB를 보므로
+ * 각 노드는 버전 행만 주기적으로 확인하고, 버전이 바뀌었을 때만 그 이후 변경 기록을 읽습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlocklistChangeLog {
+
+    private final BlocklistVersionRepository blocklistVersionRepository;
+    private final BlocklistChangeRepository blocklistChangeRepository;
+    private final BlocklistChangeQueryRepository blocklistChangeQueryRepository;
+    private final BlocklistChangeBatchRepository blocklistChangeBatchRepository;
+
+    /**
+     * 버전 행이 없으면 만듭니다. (여러 노드가 동시에 기동해도 한 번만 생성)
+     */
+    public void initialize() {
+        if (blocklistVersionRepository.existsById(BlocklistVersion.SINGLETON_ID)) {
+            return;
+        }
+        try {
+            blocklistVersionRepository.saveAndFlush(BlocklistVersion.builder()
+                    .id(BlocklistVersion.SINGLETON_ID)
+                    .version(0L)
+                    .build());
+            log.info("차단 목록 버전 초기화 완료");
+        } catch (DataIntegrityViolationException e) {
+            // 다른 노드가 먼저 생성함
+            log.debug("차단 목록 버전이 이미 생성되었습니다.");
+        }
+    }
+
+    /**
+     * 버전을 올리고 변경을 기록합니다. 차단 상태 변경과 같은 트랜잭션에서 호출해야 하며, 새 버전을 반환합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long record(String normalizedExtension, boolean blocked) {
+        if (blocklistChangeQueryRepository.incrementVersion(1) == 0) {
+            throw new IllegalStateException("차단 목록 버전이 초기화되지 않았습니다.");
+        }
+        long version = blocklistChangeQueryRepository.findCurrentVersion();
+        blocklistChangeRepository.save(BlocklistChange.builder()
+                .version(version)
+                .extensionName(normalizedExtension)
+                .isBlocked(blocked)
+                .build());
+        return version;
+    }
+
+    /**
+     * 여러 확장자의 변경을 한 번에 기록합니다. 버전은 건수만큼 한 번에 올리고 기록은 JDBC 배치로 추가하며, 마지막 버전을 반환합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long recordAll(Collection<String> normalizedExtensions, boolean blocked) {
+        if (blocklistChangeQueryRepository.incrementVersion(normalizedExtensions.size()) == 0) {
+            throw new IllegalStateException("차단 목록 버전이 초기화되지 않았습니다.");
+        }
+        long lastVersion = blocklistChangeQueryRepository.findCurrentVersion();
+        blocklistChangeBatchRepository.insertAll(lastVersion - normalizedExtensions.size() + 1, normalizedExtensions, blocked);
+        return lastVersion;
+    }
+
+    public long currentVersion() {
+        return blocklistChangeQueryRepository.findCurrentVersion();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BlocklistChange> changesAfter(long version) {
+        return blocklistChangeQueryRepository.findChangesAfter(version);
+    }
+
+    /**
+     * 최근 retention개만 남기고 오래된 변경 기록을 지웁니다. (기록이 빈 노드는 전체를 다시 읽음)
+     */
+    @Transactional
+    public long prune(long retention) {
+        long cutoff = currentVersion() - retention + 1;
+        return cutoff > 1 ? blocklistChangeQueryRepository.deleteChangesBefore(cutoff) : 0;
+    }
+}
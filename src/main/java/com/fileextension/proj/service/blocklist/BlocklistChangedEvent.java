@@ -0,0 +1,12 @@
+package com.fileextension.proj.service.blocklist;
+
+import com.fileextension.proj.dto.BlocklistChangeEventDto;
+
+import java.util.List;
+
+/**
+ * 차단 목록 스냅샷이 바뀐 뒤(커밋 이후, 다른 노드 변경 동기화 포함) 발행되는 애플리케이션 이벤트입니다.
+ * reloaded이면 전체를 다시 읽은 것이므로 changes는 비어 있습니다.
+ */
+public record BlocklistChangedEvent(long version, List<BlocklistChangeEventDto> changes, boolean reloaded) {
+}
@@ -0,0 +1,247 @@
+package com.fileextension.proj.service.blocklist;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fileextension.proj.dto.BlocklistChangeEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 차단 목록 변경을 SSE(/api/extensions/events) 구독자에게 전달합니다.
+ * 구독은 비동기 요청으로 열려 있어 연결마다 스레드를 잡지 않습니다. 디스패처 스레드 하나가 이벤트를 순서대로
+ * 구독자별 큐에 넣기만 하고, 실제 전송은 구독자마다 가상 스레드가 큐를 비우며 처리하므로 느린 구독자가 다른 구독자를 막지 않습니다.
+ * 구독자 큐가 가득 차면 쌓인 이벤트를 버리고 reload 하나로 바꿉니다.
+ * 이벤트 본문은 변경마다 한 번만 JSON으로 만들어 모든 구독자에게 그대로 보냅니다.
+ *
+ * version  연결 직후 현재 버전
+ * change   확장자 하나의 차단 상태 변경 (id = 버전)
+ * reload   전체를 다시 받아야 함 (재연결 시 놓친 변경이 있거나, 한 번에 바뀐 양이 많거나, 구독자 큐가 넘쳤을 때)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlocklistEventBroadcaster {
+
+    // 연결 유지용 주석 줄
+    private static final PendingEvent PING = new PendingEvent(null, 0, null);
+
+    private final BlocklistSnapshotHolder blocklistSnapshotHolder;
+    private final ObjectMapper objectMapper;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blocklist-event-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("blocklist-event-sender-", 0).factory());
+
+    @Value("${extension.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${extension.events.max-subscribers:4096}")
+    private int maxSubscribers;
+
+    // 한 번에 바뀐 변경이 이보다 많으면 개별 이벤트 대신 reload 하나만 보냄
+    @Value("${extension.events.max-batch-events:100}")
+    private int maxBatchEvents;
+
+    // 구독자별로 보내지 못하고 쌓아 둘 최대 이벤트 수 (넘으면 reload 하나로 대체)
+    @Value("${extension.events.queue-size:64}")
+    private int queueSize;
+
+    /**
+     * 구독을 등록합니다. 구독자 수가 한도에 도달했으면 null을 반환합니다.
+     *
+     * @param lastVersion 클라이언트가 마지막으로 받은 버전 (없으면 null) - 현재 버전보다 낮으면 reload를 먼저 보냄
+     */
+    public SseEmitter subscribe(Long lastVersion) {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        // 디스패처를 거쳐 큐에 넣으므로 이후 변경 이벤트보다 앞서 도착함
+        dispatch(() -> {
+            long version = blocklistSnapshotHolder.current().getVersion();
+            String name = lastVersion != null && lastVersion < version ? "reload" : "version";
+            subscriber.offer(name, version, versionJson(version));
+        });
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onBlocklistChanged(BlocklistChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatch(() -> {
+            if (event.reloaded() || event.changes().size() > maxBatchEvents) {
+                broadcast("reload", event.version(), versionJson(event.version()));
+                return;
+            }
+            for (BlocklistChangeEventDto change : event.changes()) {
+                broadcast("change", change.getVersion(), toJson(change));
+            }
+        });
+    }
+
+    // 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주석 줄을 보내고, 끊긴 연결을 정리함
+    @Scheduled(initialDelayString = "${extension.events.heartbeat-interval-ms:30000}",
+            fixedDelayString = "${extension.events.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        dispatch(() -> {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.ping();
+            }
+        });
+    }
+
+    // graceful shutdown이 열린 구독(비동기 요청)을 기다리지 않도록 웹 서버가 멈추기 전에 모두 닫음
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void broadcast(String name, long version, String json) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(name, version, json);
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    private String versionJson(long version) {
+        return toJson(Map.of("version", version));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("이벤트 직렬화 실패", e);
+        }
+    }
+
+    private record PendingEvent(String name, long version, String json) {
+    }
+
+    /**
+     * 구독자 하나의 전송 큐. 큐에 넣는 쪽(디스패처)은 막히지 않고, 전송은 한 번에 하나의 가상 스레드만 진행합니다.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Deque<PendingEvent> queue = new ArrayDeque<>();
+        private boolean sending;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(String name, long version, String json) {
+            synchronized (this) {
+                if (queue.size() >= queueSize) {
+                    // 따라오지 못하는 구독자 - 쌓인 변경 대신 전체를 다시 받게 함
+                    queue.clear();
+                    queue.add(new PendingEvent("reload", version, versionJson(version)));
+                } else {
+                    queue.add(new PendingEvent(name, version, json));
+                }
+            }
+            startSending();
+        }
+
+        // 보낼 이벤트가 쌓여 있으면 그 자체로 연결이 살아 있는지 확인되므로 ping은 큐가 비었을 때만
+        private void ping() {
+            synchronized (this) {
+                if (!queue.isEmpty()) {
+                    return;
+                }
+                queue.add(PING);
+            }
+            startSending();
+        }
+
+        private void startSending() {
+            synchronized (this) {
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                PendingEvent event;
+                synchronized (this) {
+                    event = queue.poll();
+                    if (event == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event == PING
+                            ? SseEmitter.event().comment("ping")
+                            : SseEmitter.event().name(event.name()).id(Long.toString(event.version())).data(event.json()));
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트가 연결을 끊었거나 이미 완료된 구독
+                    log.debug("차단 목록 이벤트 구독 종료: {}", e.getMessage());
+                    subscribers.remove(this);
+                    synchronized (this) {
+                        queue.clear();
+                        sending = false;
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fileextension.proj.service.blocklist;
+
+import com.fileextension.proj.config.common.utils.FilenameTokenizer;
+import com.fileextension.proj.config.common.utils.PackedExtensionSet;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 특정 시점의 차단 확장자 목록(고정 + 커스텀)을 담는 불변 스냅샷입니다.
+ * 한 번 만들어진 스냅샷은 변경되지 않으므로 여러 요청 스레드가 락 없이 동시에 읽을 수 있습니다.
+ */
+public final class BlocklistSnapshot {
+
+    private static final BlocklistSnapshot EMPTY = new BlocklistSnapshot(0L, Set.of());
+
+    private final long version;
+    private final Set<String> blockedExtensions;
+    private final PackedExtensionSet packedExtensions;
+
+    private BlocklistSnapshot(long version, Set<String> blockedExtensions) {
+        this.version = version;
+        this.blockedExtensions = blockedExtensions;
+        this.packedExtensions = PackedExtensionSet.of(blockedExtensions);
+    }
+
+    public static BlocklistSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static BlocklistSnapshot of(long version, Collection<String> blockedExtensions) {
+        return new BlocklistSnapshot(version, Set.copyOf(blockedExtensions));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return blockedExtensions.size();
+    }
+
+    public Set<String> getBlockedExtensions() {
+        return blockedExtensions;
+    }
+
+    /**
+     * 확장자의 차단 여부를 반환합니다. (마침표 제거, 소문자, 앞뒤 공백 제거 후 비교 - 할당 없음)
+     */
+    public boolean isBlocked(CharSequence extension) {
+        return packedExtensions.contains(extension);
+    }
+
+    /**
+     * text[from, to) 구간을 마침표로 나눈 조각 중 차단된 확장자가 있는지 확인합니다.
+     */
+    public boolean containsBlockedSegment(CharSequence text, int from, int to) {
+        return FilenameTokenizer.anySegmentIn(text, from, to, packedExtensions);
+    }
+
+    /**
+     * 확장자 하나의 차단 상태를 바꾼 새 스냅샷을 주어진 버전으로 반환합니다.
+     */
+    public BlocklistSnapshot with(String normalizedExtension, boolean blocked, long newVersion) {
+        if (blockedExtensions.contains(normalizedExtension) == blocked) {
+            return newVersion == version ? this : new BlocklistSnapshot(newVersion, blockedExtensions);
+        }
+        Set<String> next = new HashSet<>(blockedExtensions);
+        if (blocked) {
+            next.add(normalizedExtension);
+        } else {
+            next.remove(normalizedExtension);
+        }
+        return new BlocklistSnapshot(newVersion, Set.copyOf(next));
+    }
+}
@@ -0,0 +1,200 @@
+package com.fileextension.proj.service.blocklist;
+
+import com.fileextension.proj.dto.BlocklistChangeEventDto;
+import com.fileextension.proj.entity.BlocklistChange;
+import com.fileextension.proj.repository.CustomExtensionQueryRepository;
+import com.fileextension.proj.repository.FixedExtensionQueryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 차단 확장자 스냅샷을 메모리에 보관하고, 변경이 커밋되면 새 스냅샷으로 원자적으로 교체합니다.
+ * 업로드 검증 경로는 {@link #current()}만 호출하므로 DB 조회가 발생하지 않습니다.
+ * 스냅샷 버전은 DB의 차단 목록 버전과 같으며, 다른 노드에서 바뀐 내용은 {@link #sync()}로 따라잡습니다.
+ * DB 조회는 항상 새 읽기 전용 트랜잭션에서 합니다. 커밋 이후 콜백에서 호출되어도 끝난 트랜잭션의 자원을 쓰지 않습니다.
+ */
+@Component
+@Slf4j
+public class BlocklistSnapshotHolder {
+
+    private final FixedExtensionQueryRepository fixedExtensionQueryRepository;
+    private final CustomExtensionQueryRepository customExtensionQueryRepository;
+    private final BlocklistChangeLog blocklistChangeLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readTransaction;
+
+    private final AtomicReference<BlocklistSnapshot> snapshot = new AtomicReference<>();
+
+    public BlocklistSnapshotHolder(FixedExtensionQueryRepository fixedExtensionQueryRepository,
+                                   CustomExtensionQueryRepository customExtensionQueryRepository,
+                                   BlocklistChangeLog blocklistChangeLog,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.fixedExtensionQueryRepository = fixedExtensionQueryRepository;
+        this.customExtensionQueryRepository = customExtensionQueryRepository;
+        this.blocklistChangeLog = blocklistChangeLog;
+        this.eventPublisher = eventPublisher;
+        // 자기 호출에는 @Transactional 프록시가 적용되지 않으므로 템플릿으로 트랜잭션을 엶
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 현재 스냅샷을 반환합니다. 아직 로딩되지 않았다면 DB에서 한 번 읽어옵니다.
+     */
+    public BlocklistSnapshot current() {
+        BlocklistSnapshot current = snapshot.get();
+        return current != null ? current : reload();
+    }
+
+    /**
+     * DB에서 전체 차단 목록을 다시 읽어 스냅샷을 교체합니다.
+     * 호출한 쪽의 트랜잭션(커밋 이후 콜백 포함)과 섞이지 않도록 새 트랜잭션에서 조회합니다.
+     */
+    public BlocklistSnapshot reload() {
+        return readTransaction.execute(status -> load());
+    }
+
+    // 새 트랜잭션 안에서 호출
+    private synchronized BlocklistSnapshot load() {
+        // 버전을 먼저 읽음 - 목록이 버전보다 새로울 수는 있어도 오래될 수는 없음 (이후 변경은 다시 적용해도 같은 결과)
+        long version = blocklistChangeLog.currentVersion();
+        Set<String> blocked = new HashSet<>(fixedExtensionQueryRepository.findAllBlockedExtensionNames());
+        blocked.addAll(customExtensionQueryRepository.findAllExtensionNames());
+
+        BlocklistSnapshot loaded = BlocklistSnapshot.of(version, blocked);
+        BlocklistSnapshot previous = snapshot.getAndSet(loaded);
+        if (previous != null && previous.getVersion() != version) {
+            eventPublisher.publishEvent(new BlocklistChangedEvent(version, List.of(), true));
+        }
+
+        log.info("차단 확장자 스냅샷 로딩 완료: {}개 (version={})", loaded.size(), loaded.getVersion());
+        return loaded;
+    }
+
+    /**
+     * 확장자 차단 상태 변경을 DB 변경 기록에 남기고(버전 증가), 커밋이 끝난 뒤 스냅샷에 반영합니다.
+     * 차단 상태를 바꾸는 트랜잭션 안에서 호출해야 하며, 롤백되면 기록과 반영 모두 취소됩니다.
+     */
+    public void recordChange(String normalizedExtension, boolean blocked) {
+        long version = blocklistChangeLog.record(normalizedExtension, blocked);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readTransaction.executeWithoutResult(status -> apply(normalizedExtension, blocked, version));
+            }
+        });
+    }
+
+    /**
+     * 여러 확장자의 차단 상태 변경을 한 번에 기록하고, 커밋이 끝나면 DB 변경 기록으로 스냅샷을 따라잡습니다.
+     */
+    public void recordChanges(Collection<String> normalizedExtensions, boolean blocked) {
+        if (normalizedExtensions.isEmpty()) {
+            return;
+        }
+        blocklistChangeLog.recordAll(normalizedExtensions, blocked);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sync();
+            }
+        });
+    }
+
+    /**
+     * DB 버전이 로컬 스냅샷보다 앞서 있으면 그 이후 변경 기록만 읽어 반영합니다.
+     * 버전이 같으면 버전 행 하나만 조회하고 끝납니다.
+     */
+    public void sync() {
+        readTransaction.executeWithoutResult(status -> catchUp());
+    }
+
+    // 새 트랜잭션 안에서 호출
+    private synchronized void catchUp() {
+        BlocklistSnapshot current = snapshot.get();
+        if (current == null) {
+            load();
+            return;
+        }
+        long latest = blocklistChangeLog.currentVersion();
+        if (latest == current.getVersion()) {
+            return;
+        }
+        if (latest < current.getVersion()) {
+            // DB가 초기화된 경우
+            load();
+            return;
+        }
+
+        // 변경을 모두 적용한 뒤 스냅샷을 한 번만 새로 만듦 (일괄 반영으로 변경이 수천 건이어도 O(n))
+        Set<String> blocked = new HashSet<>(current.getBlockedExtensions());
+        List<BlocklistChangeEventDto> events = new ArrayList<>();
+        long version = current.getVersion();
+        for (BlocklistChange change : blocklistChangeLog.changesAfter(current.getVersion())) {
+            if (change.getVersion() != version + 1) {
+                // 중간 기록이 정리되어 이어 붙일 수 없으면 전체를 다시 읽음
+                load();
+                return;
+            }
+            boolean wasBlocked = change.getIsBlocked() ? !blocked.add(change.getExtensionName())
+                    : blocked.remove(change.getExtensionName());
+            version = change.getVersion();
+            events.add(toEvent(change.getExtensionName(), wasBlocked, change.getIsBlocked(), version));
+        }
+        if (version < latest) {
+            load();
+            return;
+        }
+        snapshot.set(BlocklistSnapshot.of(version, blocked));
+        eventPublisher.publishEvent(new BlocklistChangedEvent(version, events, false));
+        log.info("차단 확장자 스냅샷 동기화: version {} -> {}", current.getVersion(), version);
+    }
+
+    // 새 트랜잭션 안에서 호출
+    private synchronized void apply(String normalizedExtension, boolean blocked, long version) {
+        BlocklistSnapshot current = snapshot.get();
+        if (current == null) {
+            load();
+            return;
+        }
+        if (version <= current.getVersion()) {
+            // 동기화로 이미 반영됨
+            return;
+        }
+        if (version != current.getVersion() + 1) {
+            // 앞선 변경(다른 노드 또는 아직 반영 전인 커밋)부터 DB에서 이어받음
+            catchUp();
+            return;
+        }
+        BlocklistSnapshot updated = current.with(normalizedExtension, blocked, version);
+        snapshot.set(updated);
+        boolean wasBlocked = current.getBlockedExtensions().contains(normalizedExtension);
+        eventPublisher.publishEvent(new BlocklistChangedEvent(version,
+                List.of(toEvent(normalizedExtension, wasBlocked, blocked, version)), false));
+        log.debug("차단 확장자 스냅샷 갱신: {} -> {} (version={})", normalizedExtension, blocked, updated.getVersion());
+    }
+
+    private static BlocklistChangeEventDto toEvent(String extensionName, boolean wasBlocked, boolean blocked, long version) {
+        return BlocklistChangeEventDto.builder()
+                .extensionName(extensionName)
+                .wasBlocked(wasBlocked)
+                .blocked(blocked)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.fileextension.proj.service.blocklist;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 노드에서 바뀐 차단 목록을 주기적으로 가져오고, 오래된 변경 기록을 정리합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BlocklistSyncScheduler {
+
+    private final BlocklistSnapshotHolder blocklistSnapshotHolder;
+    private final BlocklistChangeLog blocklistChangeLog;
+
+    // 남겨 둘 변경 기록 수 (이보다 오래 뒤처진 노드는 전체를 다시 읽음)
+    @Value("${extension.blocklist.change-retention:1000}")
+    private long changeRetention;
+
+    @Scheduled(initialDelayString = "${extension.blocklist.sync-interval-ms:1000}",
+            fixedDelayString = "${extension.blocklist.sync-interval-ms:1000}")
+    public void sync() {
+        try {
+            blocklistSnapshotHolder.sync();
+        } catch (Exception e) {
+            // DB 일시 장애 시 기존 스냅샷으로 계속 검증하고 다음 주기에 다시 시도
+            log.warn("차단 목록 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${extension.blocklist.prune-interval-ms:600000}",
+            fixedDelayString = "${extension.blocklist.prune-interval-ms:600000}")
+    public void prune() {
+        try {
+            long deleted = blocklistChangeLog.prune(changeRetention);
+            if (deleted > 0) {
+                log.info("차단 목록 변경 기록 정리: {}건", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("차단 목록 변경 기록 정리 실패: {}", e.getMessage());
+        }
+    }
+}
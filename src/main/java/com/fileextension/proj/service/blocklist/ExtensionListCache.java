@@ -0,0 +1,66 @@
+package com.fileextension.proj.service.blocklist;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fileextension.proj.dto.ApiResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 확장자 목록 API 응답을 차단 목록 버전별로 직렬화해 보관합니다.
+ * 목록은 차단 목록이 바뀔 때만 달라지므로, 같은 버전이면 DB 조회와 JSON 직렬화 없이 저장된 바이트를 그대로 응답합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExtensionListCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<CachedList> fixedExtensions = new AtomicReference<>();
+    private final AtomicReference<CachedList> customExtensions = new AtomicReference<>();
+
+    /**
+     * 직렬화된 응답 본문과 ETag
+     */
+    public record CachedList(long version, String etag, byte[] body) {
+    }
+
+    public static String fixedEtag(long version) {
+        return etag("fixed", version);
+    }
+
+    public static String customEtag(long version) {
+        return etag("custom", version);
+    }
+
+    /**
+     * version은 목록을 읽기 전에 확인한 차단 목록 버전이어야 합니다. (목록이 버전보다 오래되지 않도록)
+     */
+    public CachedList getFixedExtensions(long version, Supplier<? extends List<?>> loader) throws JsonProcessingException {
+        return get(fixedExtensions, fixedEtag(version), version, loader);
+    }
+
+    public CachedList getCustomExtensions(long version, Supplier<? extends List<?>> loader) throws JsonProcessingException {
+        return get(customExtensions, customEtag(version), version, loader);
+    }
+
+    private CachedList get(AtomicReference<CachedList> cache, String etag, long version,
+                           Supplier<? extends List<?>> loader) throws JsonProcessingException {
+        CachedList cached = cache.get();
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        CachedList loaded = new CachedList(version, etag, objectMapper.writeValueAsBytes(ApiResponseDto.success(loader.get())));
+        // 더 새로운 버전이 이미 저장되어 있으면 덮어쓰지 않음
+        cache.accumulateAndGet(loaded, (current, next) -> current == null || current.version() < next.version() ? next : current);
+        return loaded;
+    }
+
+    private static String etag(String list, long version) {
+        return "\"" + list + "-v" + version + "\"";
+    }
+}
@@ -1,22 +1,36 @@
 package com.fileextension.proj.service.impl;
 
+import com.fileextension.proj.config.common.utils.PackedExtensionSet;
 import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.CustomExtensionBulkRequestDto;
+import com.fileextension.proj.dto.CustomExtensionBulkResultDto;
 import com.fileextension.proj.dto.CustomExtensionDto;
+import com.fileextension.proj.dto.CustomExtensionSyncRequestDto;
 import com.fileextension.proj.dto.ExtensionRequestDto;
 import com.fileextension.proj.dto.FixedExtensionDto;
 import com.fileextension.proj.entity.CustomExtension;
 import com.fileextension.proj.entity.FixedExtension;
+import com.fileextension.proj.repository.CustomExtensionBatchRepository;
 import com.fileextension.proj.repository.CustomExtensionQueryRepository;
 import com.fileextension.proj.repository.CustomExtensionRepository;
 import com.fileextension.proj.repository.FixedExtensionQueryRepository;
 import com.fileextension.proj.repository.FixedExtensionRepository;
 import com.fileextension.proj.service.ExtensionService;
+import com.fileextension.proj.service.blocklist.BlocklistSnapshot;
+import com.fileextension.proj.service.blocklist.BlocklistSnapshotHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,9 +43,14 @@ public class ExtensionServiceImpl implements ExtensionService {
     private final FixedExtensionQueryRepository fixedExtensionQueryRepository;
     private final CustomExtensionRepository customExtensionRepository;
     private final CustomExtensionQueryRepository customExtensionQueryRepository;
+    private final CustomExtensionBatchRepository customExtensionBatchRepository;
+    private final BlocklistSnapshotHolder blocklistSnapshotHolder;
 
-    private static final int MAX_CUSTOM_EXTENSIONS = 200;
-    private static final int MAX_EXTENSION_LENGTH = 20;
+    private static final int MAX_EXTENSION_LENGTH = PackedExtensionSet.MAX_PACKED_LENGTH;
+
+    // 커스텀 확장자 최대 개수 (위협 피드를 불러올 때는 늘려서 사용)
+    @Value("${extension.custom.max-count:200}")
+    private int maxCustomExtensions;
 
     @Override
     @Transactional(readOnly = true)
@@ -50,6 +69,7 @@ public class ExtensionServiceImpl implements ExtensionService {
 
             fixedExtension.setIsBlocked(isBlocked);
             FixedExtension saved = fixedExtensionRepository.save(fixedExtension);
+            blocklistSnapshotHolder.recordChange(saved.getExtensionName(), isBlocked);
 
             return ApiResponseDto.success("고정 확장자 상태가 업데이트되었습니다.", convertToFixedExtensionDto(saved));
         } catch (Exception e) {
@@ -85,8 +105,8 @@ public class ExtensionServiceImpl implements ExtensionService {
                 return ApiResponseDto.error("고정 확장자와 중복됩니다.");
             }
 
-            if (getCustomExtensionCount() >= MAX_CUSTOM_EXTENSIONS) {
-                return ApiResponseDto.error("커스텀 확장자는 최대 200개까지 추가 가능합니다.");
+            if (getCustomExtensionCount() >= maxCustomExtensions) {
+                return ApiResponseDto.error("커스텀 확장자는 최대 " + maxCustomExtensions + "개까지 추가 가능합니다.");
             }
 
             CustomExtension customExtension = CustomExtension.builder()
@@ -94,6 +114,7 @@ public class ExtensionServiceImpl implements ExtensionService {
                     .build();
 
             CustomExtension saved = customExtensionRepository.save(customExtension);
+            blocklistSnapshotHolder.recordChange(saved.getExtensionName(), true);
 
             return ApiResponseDto.success("커스텀 확장자가 추가되었습니다.", convertToCustomExtensionDto(saved));
         } catch (Exception e) {
@@ -109,6 +130,7 @@ public class ExtensionServiceImpl implements ExtensionService {
                     .orElseThrow(() -> new IllegalArgumentException("커스텀 확장자를 찾을 수 없습니다."));
 
             customExtensionRepository.delete(customExtension);
+            blocklistSnapshotHolder.recordChange(customExtension.getExtensionName(), false);
 
             return ApiResponseDto.success("커스텀 확장자가 삭제되었습니다.", null);
         } catch (Exception e) {
@@ -117,6 +139,108 @@ public class ExtensionServiceImpl implements ExtensionService {
         }
     }
 
+    @Override
+    public ApiResponseDto<CustomExtensionBulkResultDto> bulkUpdateCustomExtensions(CustomExtensionBulkRequestDto request) {
+        List<String> invalid = new ArrayList<>();
+        Set<String> adds = normalizeAll(request.getAdd(), invalid);
+        Set<String> removes = normalizeAll(request.getRemove(), invalid);
+        for (String extensionName : adds) {
+            if (removes.contains(extensionName)) {
+                return ApiResponseDto.error("같은 확장자를 동시에 추가하고 삭제할 수 없습니다: " + extensionName);
+            }
+        }
+        return applyCustomExtensionChanges(adds, removes, false, invalid);
+    }
+
+    @Override
+    public ApiResponseDto<CustomExtensionBulkResultDto> syncCustomExtensions(CustomExtensionSyncRequestDto request) {
+        List<String> invalid = new ArrayList<>();
+        Set<String> desired = normalizeAll(request.getExtensionNames(), invalid);
+        return applyCustomExtensionChanges(desired, Set.of(), true, invalid);
+    }
+
+    /**
+     * 추가/삭제할 확장자를 현재 목록과 집합으로 비교해 차이만 JDBC 배치로 반영합니다.
+     * (확장자마다 중복/고정/개수 쿼리를 보내지 않음) replaceAll이면 adds에 없는 기존 확장자를 모두 삭제합니다.
+     */
+    private ApiResponseDto<CustomExtensionBulkResultDto> applyCustomExtensionChanges(
+            Set<String> adds, Set<String> removes, boolean replaceAll, List<String> invalid) {
+        try {
+            // 고정 확장자와 겹치는 이름 제외
+            Set<String> fixedNames = new HashSet<>(fixedExtensionQueryRepository.findAllExtensionNames());
+            List<String> fixedConflicts = new ArrayList<>();
+            adds.removeIf(extensionName -> fixedNames.contains(extensionName) && fixedConflicts.add(extensionName));
+
+            Set<String> existing = new HashSet<>(customExtensionQueryRepository.findAllExtensionNames());
+            int requested = adds.size() + removes.size();
+
+            Set<String> toRemove = new LinkedHashSet<>();
+            if (replaceAll) {
+                for (String extensionName : existing) {
+                    if (!adds.contains(extensionName)) {
+                        toRemove.add(extensionName);
+                    }
+                }
+            } else {
+                for (String extensionName : removes) {
+                    if (existing.contains(extensionName)) {
+                        toRemove.add(extensionName);
+                    }
+                }
+            }
+            Set<String> toAdd = new LinkedHashSet<>();
+            for (String extensionName : adds) {
+                if (!existing.contains(extensionName)) {
+                    toAdd.add(extensionName);
+                }
+            }
+
+            long totalCount = existing.size() + toAdd.size() - toRemove.size();
+            if (totalCount > maxCustomExtensions) {
+                return ApiResponseDto.error("커스텀 확장자는 최대 " + maxCustomExtensions
+                        + "개까지 추가 가능합니다. (반영 시 " + totalCount + "개)");
+            }
+
+            customExtensionBatchRepository.deleteAllByExtensionNames(toRemove);
+            customExtensionBatchRepository.insertAll(toAdd);
+            blocklistSnapshotHolder.recordChanges(toRemove, false);
+            blocklistSnapshotHolder.recordChanges(toAdd, true);
+
+            CustomExtensionBulkResultDto result = CustomExtensionBulkResultDto.builder()
+                    .added(toAdd.size())
+                    .removed(toRemove.size())
+                    .unchanged(replaceAll ? adds.size() - toAdd.size() : requested - toAdd.size() - toRemove.size())
+                    .invalid(invalid)
+                    .fixedExtensions(fixedConflicts)
+                    .totalCount(totalCount)
+                    .build();
+            log.info("커스텀 확장자 일괄 반영: 추가 {}개, 삭제 {}개 (총 {}개)", toAdd.size(), toRemove.size(), totalCount);
+            return ApiResponseDto.success("커스텀 확장자가 일괄 반영되었습니다.", result);
+        } catch (Exception e) {
+            // JDBC 배치는 트랜잭션 프록시를 거치지 않으므로 직접 롤백 표시
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.error("커스텀 확장자 일괄 반영 실패: {}", e.getMessage());
+            return ApiResponseDto.error("커스텀 확장자 일괄 반영에 실패했습니다.");
+        }
+    }
+
+    // 정규화 + 중복 제거. 유효하지 않은 이름은 invalid에 모음
+    private Set<String> normalizeAll(List<String> extensionNames, List<String> invalid) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (extensionNames == null) {
+            return normalized;
+        }
+        for (String extensionName : extensionNames) {
+            String name = normalizeExtensionName(extensionName);
+            if (isValidExtensionName(name)) {
+                normalized.add(name);
+            } else {
+                invalid.add(extensionName);
+            }
+        }
+        return normalized;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long getCustomExtensionCount() {
@@ -124,20 +248,20 @@ public class ExtensionServiceImpl implements ExtensionService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int getMaxCustomExtensionCount() {
+        return maxCustomExtensions;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isValidExtensionName(String extensionName) {
         if (extensionName == null || extensionName.trim().isEmpty()) {
             return false;
         }
 
-        String normalized = normalizeExtensionName(extensionName);
-        
-        // 길이 체크
-        if (normalized.length() > MAX_EXTENSION_LENGTH) {
-            return false;
-        }
-
-        // 영문자와 숫자만 허용
-        return normalized.matches("^[a-zA-Z0-9]+$");
+        // 영문자와 숫자만, 최대 MAX_EXTENSION_LENGTH자 (마침표, 앞뒤 공백은 정규화 시 제거되므로 무시)
+        return PackedExtensionSet.isPackable(extensionName);
     }
 
     @Override
@@ -155,18 +279,16 @@ public class ExtensionServiceImpl implements ExtensionService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isExtensionBlocked(String extensionName) {
-        String normalized = normalizeExtensionName(extensionName);
-        
-        // 고정 확장자 차단 여부 확인
-        boolean isFixedBlocked = fixedExtensionQueryRepository.findIsBlockedByExtensionName(normalized)
-                .orElse(false);
-        
-        // 커스텀 확장자 존재 여부 확인
-        boolean isCustomExists = customExtensionQueryRepository.existsByExtensionName(normalized);
-        
-        return isFixedBlocked || isCustomExists;
+        // 고정(차단 상태) + 커스텀 확장자를 메모리 스냅샷에서 조회 (DB 조회, 정규화 문자열 생성 없음)
+        return extensionName != null && blocklistSnapshotHolder.current().isBlocked(extensionName);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BlocklistSnapshot getBlocklistSnapshot() {
+        return blocklistSnapshotHolder.current();
     }
 
     private String normalizeExtensionName(String extensionName) {
@@ -0,0 +1,281 @@
+package com.fileextension.proj.service.impl;
+
+import com.fileextension.proj.config.common.utils.FileValidationUtils;
+import com.fileextension.proj.service.FileDownloadService;
+import com.fileextension.proj.service.FileStorageService;
+import com.fileextension.proj.service.signature.MagicSignatureRegistry;
+import com.fileextension.proj.service.signature.MagicSignatureTable;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileDownloadServiceImpl implements FileDownloadService {
+
+    // Tomcat sendfile 요청 속성 (DefaultServlet과 같은 방식 - 응답을 돌려준 뒤 커넥터가 커널에서 바로 전송)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileStorageService fileStorageService;
+    private final MagicSignatureRegistry magicSignatureRegistry;
+
+    // 다중 Range 요청 한 번에 허용하는 최대 구간 수
+    @Value("${file.download.max-ranges:16}")
+    private int maxRanges;
+
+    // 이보다 작은 파일은 sendfile 대신 바로 씀 (작은 파일은 준비 비용이 더 큼)
+    @Value("${file.download.sendfile-min-size:49152}")
+    private long sendfileMinSize;
+
+    record Region(long start, long end) {
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    @Override
+    public void download(String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file;
+        BasicFileAttributes attributes;
+        try {
+            file = fileStorageService.resolve(filename);
+            attributes = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        } catch (IOException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        // If-None-Match / If-Modified-Since (맞으면 304, If-Match 등이 맞지 않으면 412)
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MediaType contentType = detectContentType(channel);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString());
+            // 감지한 형식을 그대로 따르도록 브라우저의 형식 추측을 막음
+            response.setHeader("X-Content-Type-Options", "nosniff");
+
+            List<Region> regions = rangesToSend(request.getHeader(HttpHeaders.RANGE), request.getHeader(HttpHeaders.IF_RANGE),
+                    etag, lastModified, size, maxRanges);
+            if (regions == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+
+            if (regions.isEmpty()) {
+                response.setContentType(contentType.toString());
+                response.setContentLengthLong(size);
+                if (size > 0) {
+                    sendRegion(request, response, file, channel, new Region(0, size - 1));
+                }
+            } else if (regions.size() == 1) {
+                Region region = regions.get(0);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setContentType(contentType.toString());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(region, size));
+                response.setContentLengthLong(region.length());
+                sendRegion(request, response, file, channel, region);
+            } else {
+                sendMultipart(request, response, channel, regions, contentType, size);
+            }
+        }
+    }
+
+    /**
+     * 보낼 구간 목록. 비어 있으면 전체, null이면 만족할 수 없는 Range입니다.
+     */
+    static List<Region> rangesToSend(String rangeHeader, String ifRange, String etag, long lastModified,
+                                     long size, int maxRanges) {
+        if (rangeHeader == null || !ifRangeMatches(ifRange, etag, lastModified)) {
+            return List.of();
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+        if (ranges.size() > maxRanges || size == 0) {
+            return null;
+        }
+
+        List<Region> regions = new ArrayList<>(ranges.size());
+        long total = 0;
+        for (HttpRange range : ranges) {
+            Region region;
+            try {
+                region = new Region(range.getRangeStart(size), range.getRangeEnd(size));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (region.start() >= size || region.start() > region.end()) {
+                // 파일 범위를 벗어난 구간 (시작 위치가 파일 끝 이후)
+                return null;
+            }
+            total += region.length();
+            regions.add(region);
+        }
+        // 겹치는 구간으로 파일보다 많이 보내게 하는 요청 거부
+        return total > size ? null : regions;
+    }
+
+    // If-Range가 없거나 현재 파일과 같을 때만 Range를 적용 (다르면 전체를 200으로 보냄)
+    static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(etag);
+        }
+        try {
+            long date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return date / 1000 == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private void sendRegion(HttpServletRequest request, HttpServletResponse response, Path file,
+                            FileChannel channel, Region region) throws IOException {
+        if (isHead(request)) {
+            // 헤더만 보냄 (sendfile 속성을 남기면 커넥터가 본문을 보낼 수 있음)
+            return;
+        }
+        if (region.length() >= sendfileMinSize && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // 커넥터가 응답을 마무리할 때 커널 sendfile로 전송 (end는 제외 위치)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, region.start());
+            request.setAttribute(SENDFILE_END, region.end() + 1);
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        transfer(channel, region, Channels.newChannel(out));
+        out.flush();
+    }
+
+    private void sendMultipart(HttpServletRequest request, HttpServletResponse response, FileChannel channel,
+                               List<Region> regions, MediaType contentType, long size) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long contentLength = 0;
+        for (Region region : regions) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, size) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.ISO_8859_1);
+            partHeaders.add(header);
+            contentLength += header.length + region.length();
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        contentLength += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (isHead(request)) {
+            return;
+        }
+
+        // 구간 사이에 경계 헤더를 넣어야 하므로 sendfile 대신 transferTo로 구간마다 전송
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        for (int i = 0; i < regions.size(); i++) {
+            out.write(partHeaders.get(i));
+            transfer(channel, regions.get(i), target);
+        }
+        out.write(closing);
+        out.flush();
+    }
+
+    private static boolean isHead(HttpServletRequest request) {
+        return "HEAD".equals(request.getMethod());
+    }
+
+    private static void transfer(FileChannel channel, Region region, WritableByteChannel target) throws IOException {
+        long position = region.start();
+        long remaining = region.length();
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                // 전송 중 파일이 줄어든 경우
+                throw new IOException("파일을 끝까지 보내지 못했습니다.");
+            }
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    // 확장자가 아니라 매직 바이트로 감지한 형식으로 Content-Type을 정함
+    private MediaType detectContentType(FileChannel channel) throws IOException {
+        MagicSignatureTable signatures = magicSignatureRegistry.current();
+        ByteBuffer header = ByteBuffer.allocate(FileValidationUtils.getHeaderLength(signatures));
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // 헤더 길이만큼 읽음 (파일이 더 짧으면 읽은 만큼)
+        }
+        int length = header.position();
+        String detectedType = length < 2 ? "" : FileValidationUtils.detectFileType(header.array(), length, signatures);
+        if (detectedType.isEmpty()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        if (detectedType.equals("txt")) {
+            return new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+        }
+        return MediaTypeFactory.getMediaType("file." + detectedType).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private static String contentRange(Region region, long size) {
+        return "bytes " + region.start() + "-" + region.end() + "/" + size;
+    }
+}
@@ -0,0 +1,328 @@
+package com.fileextension.proj.service.impl;
+
+import com.fileextension.proj.config.common.exception.FileRejectedException;
+import com.fileextension.proj.config.common.exception.FileSizeLimitExceededException;
+import com.fileextension.proj.config.common.utils.DirectBufferPool;
+import com.fileextension.proj.dto.StoredFileDto;
+import com.fileextension.proj.service.FileStorageService;
+import com.fileextension.proj.service.metrics.UploadMetrics;
+import com.fileextension.proj.service.metrics.UploadMetrics.Rejection;
+import com.fileextension.proj.service.metrics.UploadMetrics.StorageOutcome;
+import com.fileextension.proj.service.storage.DedupBlobStore;
+import com.fileextension.proj.service.storage.UniqueFilenameAllocator;
+import com.fileextension.proj.service.storage.UploadDirectoryIndex;
+import com.fileextension.proj.service.storage.UploadStorageLayout;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FileStorageServiceImpl implements FileStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    private final DedupBlobStore dedupBlobStore;
+    private final UniqueFilenameAllocator filenameAllocator;
+    private final UploadDirectoryIndex directoryIndex;
+    private final UploadStorageLayout layout;
+    private final UploadMetrics uploadMetrics;
+    private final DirectBufferPool bufferPool = new DirectBufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+
+    @Override
+    public StoredFileDto store(InputStream in, String originalFilename, HeaderInspector inspector) throws IOException {
+        return measured(() -> storeStream(in, originalFilename, inspector));
+    }
+
+    @Override
+    public StoredFileDto storeExisting(String sha256, String originalFilename, HeaderInspector inspector) throws IOException {
+        return measured(() -> linkExisting(sha256, originalFilename, inspector));
+    }
+
+    @Override
+    public StoredFileDto storeReceived(Path received, String originalFilename, long size, String sha256) throws IOException {
+        return measured(() -> moveReceived(received, originalFilename, size, sha256));
+    }
+
+    private StoredFileDto storeStream(InputStream in, String originalFilename, HeaderInspector inspector) throws IOException {
+        Files.createDirectories(layout.getRoot());
+
+        // 인덱스 밖의 임시 파일로 받아 검사를 모두 통과한 뒤에만 사용자 파일명으로 공개
+        Path temp = dedupBlobStore.createTempFile();
+        try {
+            StoredFileDto copied = copy(in, temp, inspector, StandardOpenOption.TRUNCATE_EXISTING);
+            if (dedupBlobStore.isEnabled()) {
+                // 내용 주소 저장: blob 확정 -> 사용자 파일명은 링크
+                copied.setFilename(linkUniqueFilename(originalFilename, copied.getSha256(), temp));
+            } else {
+                copied.setFilename(publish(temp, originalFilename));
+            }
+            directoryIndex.onStored(copied.getFilename());
+            return copied;
+        } finally {
+            // 거부되었거나 같은 내용의 blob이 이미 있어 옮겨지지 않은 임시 파일
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private StoredFileDto linkExisting(String sha256, String originalFilename, HeaderInspector inspector) throws IOException {
+        if (!dedupBlobStore.isEnabled()) {
+            throw new FileRejectedException("중복 제거 저장소가 비활성화되어 있습니다.");
+        }
+        if (!dedupBlobStore.exists(sha256)) {
+            throw new FileRejectedException("서버에 없는 파일입니다. 파일을 업로드해 주세요.");
+        }
+
+        // 저장된 blob 헤더로 매직 바이트 검증 (파일명이 달라지면 결과가 달라질 수 있음)
+        Path blob = dedupBlobStore.blobPath(sha256);
+        byte[] header = new byte[inspector.headerLength()];
+        int length;
+        try (InputStream in = Files.newInputStream(blob)) {
+            length = in.readNBytes(header, 0, header.length);
+        }
+        String rejection = inspector.inspect(header, length);
+        if (rejection == null) {
+            rejection = inspector.inspectContent(blob, Files.size(blob));
+        }
+        if (rejection != null) {
+            throw new FileRejectedException(rejection);
+        }
+
+        String finalFilename;
+        try {
+            finalFilename = linkUniqueFilename(originalFilename, sha256, null);
+        } catch (NoSuchFileException e) {
+            // 검사 후 연결 전에 마지막 참조가 삭제된 경우
+            throw new FileRejectedException("서버에 없는 파일입니다. 파일을 업로드해 주세요.");
+        }
+        directoryIndex.onStored(finalFilename);
+        return StoredFileDto.builder()
+                .filename(finalFilename)
+                .size(Files.size(blob))
+                .sha256(sha256)
+                .build();
+    }
+
+    private StoredFileDto moveReceived(Path received, String originalFilename, long size, String sha256) throws IOException {
+        String finalFilename;
+        if (dedupBlobStore.isEnabled()) {
+            try {
+                finalFilename = linkUniqueFilename(originalFilename, sha256, received);
+            } finally {
+                Files.deleteIfExists(received);
+            }
+        } else {
+            finalFilename = publish(received, originalFilename);
+        }
+        directoryIndex.onStored(finalFilename);
+        return StoredFileDto.builder()
+                .filename(finalFilename)
+                .size(size)
+                .sha256(sha256)
+                .build();
+    }
+
+    @Override
+    public Set<String> findExistingHashes(Collection<String> sha256s) {
+        if (!dedupBlobStore.isEnabled()) {
+            return Set.of();
+        }
+        Set<String> existing = new LinkedHashSet<>();
+        for (String sha256 : sha256s) {
+            String normalized = sha256 != null ? sha256.trim().toLowerCase() : null;
+            if (dedupBlobStore.exists(normalized)) {
+                existing.add(normalized);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public void delete(String filename) throws IOException {
+        Path file = layout.resolve(filename);
+        if (dedupBlobStore.isEnabled()) {
+            dedupBlobStore.delete(file);
+        } else {
+            Files.delete(file);
+        }
+        directoryIndex.onDeleted(filename);
+    }
+
+    @Override
+    public Path resolve(String filename) {
+        return layout.resolve(filename);
+    }
+
+    @Override
+    public List<String> listFiles() {
+        return directoryIndex.list();
+    }
+
+    /**
+     * 저장 소요 시간과 결과(stored / rejected / failed), 저장된 크기를 기록합니다.
+     */
+    private StoredFileDto measured(StoreAction action) throws IOException {
+        long start = System.nanoTime();
+        try {
+            StoredFileDto stored = action.store();
+            uploadMetrics.recordStorage(StorageOutcome.STORED, start);
+            uploadMetrics.recordUploadSize(stored.getSize());
+            return stored;
+        } catch (FileRejectedException e) {
+            if (e instanceof FileSizeLimitExceededException) {
+                uploadMetrics.rejected(Rejection.SIZE_LIMIT);
+            }
+            uploadMetrics.recordStorage(StorageOutcome.REJECTED, start);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            uploadMetrics.recordStorage(StorageOutcome.FAILED, start);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface StoreAction {
+        StoredFileDto store() throws IOException;
+    }
+
+    /**
+     * 스트림을 target에 한 번만 읽어 저장합니다. 헤더 검사에서 거부되거나 오류가 나면 target을 삭제합니다.
+     */
+    private StoredFileDto copy(InputStream in, Path target, HeaderInspector inspector, StandardOpenOption mode) throws IOException {
+        MessageDigest digest = newSha256();
+        ByteBuffer buffer = bufferPool.acquire();
+        boolean completed = false;
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel channel = FileChannel.open(target, mode, StandardOpenOption.WRITE)) {
+
+            // 1. 헤더 길이만큼 먼저 채워서 검사 (디스크에 쓰기 전에 거부)
+            int headerLength = Math.min(inspector.headerLength(), buffer.capacity());
+            boolean eof = fill(source, buffer, headerLength);
+            buffer.flip();
+
+            byte[] header = new byte[Math.min(headerLength, buffer.remaining())];
+            buffer.duplicate().get(header);
+            String rejection = inspector.inspect(header, header.length);
+            if (rejection != null) {
+                throw new FileRejectedException(rejection);
+            }
+
+            // 2. 같은 버퍼로 해시 계산과 저장을 함께 진행
+            long size = 0;
+            while (true) {
+                size += buffer.remaining();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+                if (eof) {
+                    break;
+                }
+                eof = fill(source, buffer, buffer.capacity());
+                buffer.flip();
+                if (!buffer.hasRemaining() && eof) {
+                    break;
+                }
+            }
+
+            // 3. 다 쓴 내용 검사 (거부되면 finally에서 파일 삭제)
+            String contentRejection = inspector.inspectContent(target, size);
+            if (contentRejection != null) {
+                throw new FileRejectedException(contentRejection);
+            }
+
+            completed = true;
+            return StoredFileDto.builder()
+                    .size(size)
+                    .sha256(HexFormat.of().formatHex(digest.digest()))
+                    .build();
+        } finally {
+            bufferPool.release(buffer);
+            if (!completed) {
+                // 거부되었거나 저장 중 오류가 나면 쓰던 파일 삭제
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+    /**
+     * 중복되지 않는 파일명으로 blob 링크를 만듭니다. (링크 생성 자체가 이름 선점)
+     * content는 blob이 없을 때 blob으로 확정할 임시 파일입니다. (이미 저장된 내용에 연결할 때는 null)
+     */
+    private String linkUniqueFilename(String originalFilename, String sha256, Path content) throws IOException {
+        return filenameAllocator.allocate(originalFilename, filename -> {
+            filenameAllocator.checkNotMigrating(filename);
+            Path target = layout.target(filename);
+            Files.createDirectories(target.getParent());
+            dedupBlobStore.link(sha256, content, target);
+        });
+    }
+
+    /**
+     * 빈 파일로 이름을 선점한 뒤 검사를 마친 content로 한 번에 교체합니다. (동시 업로드끼리 덮어쓰지 않음)
+     * 교체 전까지 선점한 이름은 빈 파일이므로, 검사 전 내용이 다운로드되는 일이 없습니다.
+     */
+    private String publish(Path content, String originalFilename) throws IOException {
+        String finalFilename = filenameAllocator.reserve(originalFilename);
+        Path target = layout.target(finalFilename);
+        try {
+            try {
+                Files.move(content, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(content, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // 옮기지 못하면 선점한 빈 파일 정리
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return finalFilename;
+    }
+
+    /**
+     * 버퍼를 limit 바이트까지 채웁니다. 스트림 끝에 도달하면 true를 반환합니다.
+     */
+    private boolean fill(ReadableByteChannel source, ByteBuffer buffer, int limit) throws IOException {
+        while (buffer.position() < limit) {
+            int saved = buffer.limit();
+            buffer.limit(limit);
+            int read = source.read(buffer);
+            buffer.limit(saved);
+            if (read < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,477 @@
+package com.fileextension.proj.service.impl;
+
+import com.fileextension.proj.config.common.exception.FileRejectedException;
+import com.fileextension.proj.config.common.utils.SizeLimitedInputStream;
+import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.StoredFileDto;
+import com.fileextension.proj.dto.UploadSessionDto;
+import com.fileextension.proj.dto.UploadSessionRequestDto;
+import com.fileextension.proj.service.FileStorageService;
+import com.fileextension.proj.service.UploadSessionService;
+import com.fileextension.proj.service.UploadValidationService;
+import com.fileextension.proj.service.metrics.UploadMetrics;
+import com.fileextension.proj.service.storage.UploadStorageLayout;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 청크 업로드 세션을 메모리에 보관합니다. 받은 청크는 미리 크기를 잡아 둔 임시 파일(.sessions/<id>.part)의
+ * 해당 위치에 바로 기록하고, 완료 시 파일 저장소로 옮깁니다.
+ * 세션 잠금은 tryLock으로만 잡으므로, 청크를 받는 동안 같은 세션의 다른 요청은 기다리지 않고 409로 응답합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final String SESSION_DIR = ".sessions";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadValidationService uploadValidationService;
+    private final FileStorageService fileStorageService;
+    private final UploadStorageLayout layout;
+    private final UploadMetrics uploadMetrics;
+
+    @Value("${file.upload.chunked.max-file-size:1GB}")
+    private DataSize maxFileSize;
+
+    @Value("${file.upload.chunked.max-chunk-size:8MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${file.upload.chunked.session-timeout:30m}")
+    private Duration sessionTimeout;
+
+    @Value("${file.upload.chunked.max-sessions:64}")
+    private int maxSessions;
+
+    // 열린 세션이 미리 할당한 임시 파일 크기 합계 한도
+    @Value("${file.upload.chunked.max-reserved-size:8GB}")
+    private DataSize maxReservedSize;
+
+    private final ConcurrentMap<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "upload-session-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        deleteStaleFiles();
+        cleaner.scheduleWithFixedDelay(this::expireSessions, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+
+    @Override
+    public ApiResponseDto<UploadSessionDto> createSession(UploadSessionRequestDto request) {
+        String filename = request.getFilename();
+        if (filename == null || filename.trim().isEmpty()) {
+            return ApiResponseDto.error("유효한 파일명이 필요합니다.", 400);
+        }
+        if (request.getSize() < 0) {
+            return ApiResponseDto.error("파일 크기가 올바르지 않습니다.", 400);
+        }
+        if (request.getSize() > maxFileSize.toBytes()) {
+            uploadMetrics.rejected(UploadMetrics.Rejection.SIZE_LIMIT);
+            return ApiResponseDto.error("파일 크기가 제한(" + maxFileSize.toBytes() + " bytes)을 초과했습니다.", 413);
+        }
+
+        // 파일명 검증 (1~4단계) - 본문을 받기 전
+        ApiResponseDto<Void> validationResult = uploadValidationService.validateFilename(filename);
+        if (!validationResult.isSuccess()) {
+            return ApiResponseDto.error(validationResult.getMessage(), 400);
+        }
+
+        // 열린 세션 수와 미리 할당할 디스크 합계를 제한 (파일을 만들기 전에 자리부터 확보)
+        if (!reserve(request.getSize())) {
+            return ApiResponseDto.error("진행 중인 업로드 세션이 너무 많습니다. 잠시 후 다시 시도해 주세요.", 503);
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        Path file = sessionDir().resolve(sessionId + ".part");
+        UploadSession session = new UploadSession(sessionId, filename, request.getSize(), file);
+        sessions.put(sessionId, session);
+        try {
+            Files.createDirectories(file.getParent());
+            // 전체 크기만큼 미리 할당해 두고 청크는 해당 위치에 바로 기록
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(request.getSize());
+            }
+        } catch (IOException e) {
+            log.error("업로드 세션 생성 실패: {}", e.getMessage());
+            abort(session);
+            return ApiResponseDto.error("업로드 세션 생성에 실패했습니다.", 500);
+        }
+        return ApiResponseDto.success("업로드 세션이 생성되었습니다.", toDto(session));
+    }
+
+    @Override
+    public ApiResponseDto<UploadSessionDto> getSession(String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            return ApiResponseDto.error("업로드 세션을 찾을 수 없습니다.", 404);
+        }
+        // offset은 volatile이므로 청크를 받는 중에도 잠금 없이 조회
+        return ApiResponseDto.success(toDto(session));
+    }
+
+    @Override
+    public ApiResponseDto<UploadSessionDto> appendChunk(String sessionId, long offset, InputStream body) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            return ApiResponseDto.error("업로드 세션을 찾을 수 없습니다.", 404);
+        }
+
+        if (!session.lock.tryLock()) {
+            return busy(session);
+        }
+        try {
+            if (session.closed) {
+                return ApiResponseDto.error("업로드 세션을 찾을 수 없습니다.", 404);
+            }
+            if (offset != session.offset) {
+                return offsetMismatch(session);
+            }
+            session.touch();
+
+            long limit = Math.min(maxChunkSize.toBytes(), session.size - offset);
+            MessageDigest before = cloneDigest(session.digest);
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+                InputStream in = new SizeLimitedInputStream(body, limit);
+
+                // 첫 청크: 헤더만큼 먼저 받아 매직 바이트 검증 (5단계) - 나머지를 받기 전에 거부
+                if (offset == 0) {
+                    FileStorageService.HeaderInspector inspector = uploadValidationService.headerInspector(session.filename);
+                    int required = (int) Math.min(inspector.headerLength(), session.size);
+                    byte[] header = in.readNBytes(required);
+                    if (header.length < required) {
+                        return ApiResponseDto.error("첫 청크는 최소 " + required + "바이트여야 합니다.", 400);
+                    }
+                    String rejection = inspector.inspect(header, header.length);
+                    if (rejection != null) {
+                        abort(session);
+                        return ApiResponseDto.error(rejection, 400);
+                    }
+                    written += writeFully(channel, ByteBuffer.wrap(header), offset);
+                    session.digest.update(header);
+                }
+
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    written += writeFully(channel, ByteBuffer.wrap(buffer, 0, n), offset + written);
+                    session.digest.update(buffer, 0, n);
+                }
+            } catch (FileRejectedException e) {
+                // 남은 크기/최대 청크 크기를 넘는 청크는 통째로 무효 처리 (offset 유지)
+                session.digest = before;
+                uploadMetrics.rejected(UploadMetrics.Rejection.SIZE_LIMIT);
+                return ApiResponseDto.error("청크가 허용 크기(" + limit + " bytes)를 초과했습니다.", 413);
+            } catch (IOException e) {
+                // 연결이 끊긴 경우 등 - 기록된 바이트까지는 인정하고 그 위치부터 이어받기
+                session.offset += written;
+                log.warn("청크 수신 중단: {} ({}바이트 기록)", sessionId, written);
+                return ApiResponseDto.<UploadSessionDto>builder()
+                        .success(false)
+                        .message("청크 수신이 중단되었습니다. 조회한 offset부터 다시 전송해 주세요.")
+                        .data(toDto(session))
+                        .errorCode(500)
+                        .build();
+            }
+
+            session.offset += written;
+            session.touch();
+            return ApiResponseDto.success(toDto(session));
+        } finally {
+            try {
+                if (session.closed) {
+                    // 청크를 받는 동안 취소/만료된 세션 (잠금을 잡고 있으므로 완료 처리와 겹치지 않음)
+                    deleteFile(session);
+                }
+            } finally {
+                session.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public ApiResponseDto<UploadSessionDto> completeSession(String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            return ApiResponseDto.error("업로드 세션을 찾을 수 없습니다.", 404);
+        }
+
+        if (!session.lock.tryLock()) {
+            return busy(session);
+        }
+        try {
+            if (session.closed) {
+                return ApiResponseDto.error("업로드 세션을 찾을 수 없습니다.", 404);
+            }
+            if (session.offset != session.size) {
+                return offsetMismatch(session);
+            }
+
+            try {
+                // 세션 중 차단 목록이 바뀌었을 수 있으므로 저장 직전에 다시 검증
+                ApiResponseDto<Void> validationResult = uploadValidationService.validateFilename(session.filename);
+                if (!validationResult.isSuccess()) {
+                    abort(session);
+                    return ApiResponseDto.error(validationResult.getMessage(), 400);
+                }
+                String rejection = inspectStoredContent(session);
+                if (rejection != null) {
+                    abort(session);
+                    return ApiResponseDto.error(rejection, 400);
+                }
+
+                session.closed = true;
+                release(session);
+                String sha256 = HexFormat.of().formatHex(session.digest.digest());
+                StoredFileDto stored = fileStorageService.storeReceived(session.file, session.filename, session.size, sha256);
+
+                UploadSessionDto dto = toDto(session);
+                dto.setStoredFilename(stored.getFilename());
+                return ApiResponseDto.success("파일 업로드 성공", dto);
+            } catch (IOException e) {
+                log.error("청크 업로드 저장 실패: {}", e.getMessage());
+                abort(session);
+                return ApiResponseDto.error("파일 저장 실패: " + e.getMessage(), 500);
+            }
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    @Override
+    public ApiResponseDto<Void> abortSession(String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            return ApiResponseDto.error("업로드 세션을 찾을 수 없습니다.", 404);
+        }
+        // 청크를 받는 중이면 세션만 닫고, 임시 파일은 받던 요청이 끝날 때 삭제
+        abort(session);
+        return ApiResponseDto.success("업로드 세션이 취소되었습니다.", null);
+    }
+
+    private String inspectStoredContent(UploadSession session) throws IOException {
+        FileStorageService.HeaderInspector inspector = uploadValidationService.headerInspector(session.filename);
+        byte[] header = new byte[(int) Math.min(inspector.headerLength(), session.size)];
+        try (InputStream in = Files.newInputStream(session.file)) {
+            int length = in.readNBytes(header, 0, header.length);
+            String rejection = inspector.inspect(header, length);
+            if (rejection != null) {
+                return rejection;
+            }
+        }
+        return inspector.inspectContent(session.file, session.size);
+    }
+
+    private void expireSessions() {
+        long now = System.currentTimeMillis();
+        for (UploadSession session : sessions.values()) {
+            // 청크를 받는 중인 세션은 건너뜀 (잠금을 기다리지 않음)
+            if (now - session.lastActivity > sessionTimeout.toMillis() && session.lock.tryLock()) {
+                try {
+                    log.debug("만료된 업로드 세션 삭제: {}", session.id);
+                    abort(session);
+                } finally {
+                    session.lock.unlock();
+                }
+            }
+        }
+        deleteStaleFiles();
+    }
+
+    /**
+     * 이 인스턴스의 세션이 아니면서 session-timeout 동안 청크가 기록되지 않은 임시 파일을 삭제합니다.
+     * 업로드 디렉토리를 여러 인스턴스가 공유하므로, 다른 인스턴스에서 진행 중인 세션 파일은 남겨 둡니다.
+     * (재시작 전에 남은 파일은 세션이 메모리에만 있어 이어받을 수 없으므로 만료 후 정리)
+     */
+    private void deleteStaleFiles() {
+        Path dir = sessionDir();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - sessionTimeout.toMillis();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.part")) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                if (sessions.containsKey(name.substring(0, name.length() - ".part".length()))) {
+                    continue;
+                }
+                try {
+                    if (Files.getLastModifiedTime(path).toMillis() < expiredBefore) {
+                        log.debug("만료된 업로드 세션 파일 삭제: {}", name);
+                        Files.deleteIfExists(path);
+                    }
+                } catch (NoSuchFileException e) {
+                    // 다른 인스턴스가 먼저 정리함
+                }
+            }
+        } catch (IOException e) {
+            log.warn("만료된 업로드 세션 파일 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 세션을 닫고 임시 파일을 삭제합니다. 청크를 받는 중이면 파일은 appendChunk가 끝날 때 삭제됩니다.
+     */
+    private void abort(UploadSession session) {
+        session.closed = true;
+        release(session);
+        if (session.lock.tryLock()) {
+            try {
+                deleteFile(session);
+            } finally {
+                session.lock.unlock();
+            }
+        }
+    }
+
+    private void deleteFile(UploadSession session) {
+        try {
+            Files.deleteIfExists(session.file);
+        } catch (IOException e) {
+            log.warn("업로드 세션 파일 삭제 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean reserve(long size) {
+        if (sessions.size() >= maxSessions) {
+            return false;
+        }
+        long limit = maxReservedSize.toBytes();
+        while (true) {
+            long current = reservedBytes.get();
+            if (current + size > limit) {
+                return false;
+            }
+            if (reservedBytes.compareAndSet(current, current + size)) {
+                return true;
+            }
+        }
+    }
+
+    // 맵에서 제거한 쪽만 자리를 반납 (완료/취소/만료가 겹쳐도 한 번)
+    private void release(UploadSession session) {
+        if (sessions.remove(session.id, session)) {
+            reservedBytes.addAndGet(-session.size);
+        }
+    }
+
+    private ApiResponseDto<UploadSessionDto> busy(UploadSession session) {
+        return ApiResponseDto.<UploadSessionDto>builder()
+                .success(false)
+                .message("이 세션은 다른 청크를 받는 중입니다. 잠시 후 offset을 조회해 다시 전송해 주세요.")
+                .data(toDto(session))
+                .errorCode(409)
+                .build();
+    }
+
+    private ApiResponseDto<UploadSessionDto> offsetMismatch(UploadSession session) {
+        return ApiResponseDto.<UploadSessionDto>builder()
+                .success(false)
+                .message("offset이 일치하지 않습니다. (서버 offset: " + session.offset + ")")
+                .data(toDto(session))
+                .errorCode(409)
+                .build();
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            total += channel.write(buffer, position + total);
+        }
+        return total;
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        return UploadSessionDto.builder()
+                .sessionId(session.id)
+                .filename(session.filename)
+                .size(session.size)
+                .offset(session.offset)
+                .maxChunkSize(maxChunkSize.toBytes())
+                .build();
+    }
+
+    private Path sessionDir() {
+        return layout.getRoot().resolve(SESSION_DIR);
+    }
+
+    private static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 상태를 복사할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 업로드 세션 상태. offset/digest 변경은 lock을 잡은 상태에서만 이루어지고,
+     * offset/closed는 잠금 없이 읽을 수 있도록 volatile입니다.
+     */
+    private static final class UploadSession {
+        private final String id;
+        private final String filename;
+        private final long size;
+        private final Path file;
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        private volatile long offset;
+        private volatile boolean closed;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        private UploadSession(String id, String filename, long size, Path file) {
+            this.id = id;
+            this.filename = filename;
+            this.size = size;
+            this.file = file;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+            }
+        }
+
+        private void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+}
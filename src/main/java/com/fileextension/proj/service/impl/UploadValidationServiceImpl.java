@@ -0,0 +1,339 @@
+package com.fileextension.proj.service.impl;
+
+import com.fileextension.proj.config.common.utils.FileValidationUtils;
+import com.fileextension.proj.config.common.utils.ScriptPatternMatcher;
+import com.fileextension.proj.dto.ApiResponseDto;
+import com.fileextension.proj.dto.FileVerdictDto;
+import com.fileextension.proj.dto.FileVerdictItemDto;
+import com.fileextension.proj.dto.FileVerdictResponseDto;
+import com.fileextension.proj.service.ExtensionService;
+import com.fileextension.proj.service.FileStorageService;
+import com.fileextension.proj.service.UploadValidationService;
+import com.fileextension.proj.service.archive.ArchiveInspector;
+import com.fileextension.proj.service.blocklist.BlocklistSnapshot;
+import com.fileextension.proj.service.metrics.UploadMetrics;
+import com.fileextension.proj.service.metrics.UploadMetrics.Rejection;
+import com.fileextension.proj.service.metrics.UploadMetrics.Stage;
+import com.fileextension.proj.service.scan.EmbeddedContentScanner;
+import com.fileextension.proj.service.signature.MagicSignatureRegistry;
+import com.fileextension.proj.service.signature.MagicSignatureTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+public class UploadValidationServiceImpl implements UploadValidationService {
+
+    private final ExtensionService extensionService;
+    private final MagicSignatureRegistry magicSignatureRegistry;
+    private final UploadMetrics uploadMetrics;
+    private final ArchiveInspector archiveInspector;
+    private final EmbeddedContentScanner embeddedContentScanner;
+
+    @Override
+    public ApiResponseDto<Void> validateFilename(String originalFilename) {
+        Rejection rejection = checkFilename(originalFilename, extensionService.getBlocklistSnapshot(), true);
+        if (rejection != null) {
+            uploadMetrics.rejected(rejection);
+            return ApiResponseDto.error(getFilenameRejectionMessage(rejection));
+        }
+        return ApiResponseDto.success("파일 검증 성공", null);
+    }
+
+    @Override
+    public FileStorageService.HeaderInspector headerInspector(String originalFilename) {
+        MagicSignatureTable signatures = magicSignatureRegistry.current();
+        return new FileStorageService.HeaderInspector() {
+            // 헤더 검사에서 감지한 형식 (압축 파일이면 저장 후 내부까지 검사)
+            private String detectedType;
+
+            @Override
+            public int headerLength() {
+                return FileValidationUtils.getHeaderLength(signatures);
+            }
+
+            @Override
+            public String inspect(byte[] header, int length) {
+                HeaderCheck check = checkHeader(originalFilename, header, length, signatures,
+                        extensionService.getBlocklistSnapshot(), true);
+                detectedType = check.detectedType();
+                uploadMetrics.magicDetected(check.detectedType());
+                if (check.blockedExtension() != null) {
+                    uploadMetrics.rejected(Rejection.MAGIC_BYPASS);
+                    return getMagicBypassMessage(check.blockedExtension());
+                }
+                return null;
+            }
+
+            @Override
+            public String inspectContent(Path file, long size) throws IOException {
+                BlocklistSnapshot snapshot = extensionService.getBlocklistSnapshot();
+                String rejection = inspectArchive(file, detectedType, snapshot, signatures);
+                return rejection != null ? rejection : scanContent(file, size, detectedType, snapshot);
+            }
+        };
+    }
+
+    /**
+     * 6. 압축 파일 내부 항목 검사
+     */
+    private String inspectArchive(Path file, String detectedType, BlocklistSnapshot snapshot,
+                                  MagicSignatureTable signatures) throws IOException {
+        if (!ArchiveInspector.isArchiveType(detectedType)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        ArchiveInspector.Finding finding = archiveInspector.inspect(file, detectedType, archiveEntryPolicy(snapshot, signatures));
+        uploadMetrics.recordStage(Stage.ARCHIVE_INSPECTION, start);
+        if (finding == null) {
+            return null;
+        }
+        uploadMetrics.rejected(finding.limitExceeded() ? Rejection.ARCHIVE_LIMIT : Rejection.ARCHIVE_ENTRY);
+        return finding.message();
+    }
+
+    /**
+     * 7. 본문 전체에서 숨겨진 실행 파일 / 스크립트 검사 (file.upload.content-scan.enabled)
+     * 앞부분이 이미 실행 파일/스크립트로 판정된 파일은 5단계에서 결정되었으므로 건너뛰고,
+     * 텍스트 파일은 스크립트 표식이 정상 내용일 수 있어 실행 파일 헤더만 찾습니다.
+     */
+    private String scanContent(Path file, long size, String detectedType, BlocklistSnapshot snapshot) throws IOException {
+        if (!embeddedContentScanner.isEnabled() || isExecutableType(detectedType)) {
+            return null;
+        }
+        boolean binary = detectedType != null && !detectedType.isEmpty() && !"txt".equals(detectedType);
+        long start = System.nanoTime();
+        EmbeddedContentScanner.Finding finding = embeddedContentScanner.scan(file, size, snapshot::isBlocked, binary);
+        uploadMetrics.recordStage(Stage.CONTENT_SCAN, start);
+        if (finding == null) {
+            return null;
+        }
+        uploadMetrics.rejected(Rejection.EMBEDDED_CONTENT);
+        return "파일 본문에 숨겨진 실행 코드가 감지되었습니다. (위치: " + finding.offset() + ", 매직 바이트: "
+                + getMagicByteInfo(finding.type()) + ")";
+    }
+
+    private static boolean isExecutableType(String detectedType) {
+        if (EmbeddedContentScanner.EXECUTABLE.equals(detectedType)) {
+            return true;
+        }
+        for (ScriptPatternMatcher.ScriptFamily family : ScriptPatternMatcher.ScriptFamily.values()) {
+            if (family.getExtension().equals(detectedType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 압축 파일 항목 검사 기준 - 항목 이름은 차단 확장자/우회 파일명(3~4단계), 앞부분은 매직 바이트(5단계)로 검사
+     */
+    private ArchiveInspector.EntryPolicy archiveEntryPolicy(BlocklistSnapshot snapshot, MagicSignatureTable signatures) {
+        int headerLength = FileValidationUtils.getHeaderLength(signatures);
+        return new ArchiveInspector.EntryPolicy() {
+            @Override
+            public int headerLength() {
+                return headerLength;
+            }
+
+            @Override
+            public String checkName(String entryName) {
+                String name = getEntryFilename(entryName);
+                String extension = FileValidationUtils.getLastExtension(name).replace(".", "").toLowerCase().trim();
+                if (!extension.isEmpty() && snapshot.isBlocked(extension)) {
+                    return "압축 파일 안에 차단된 확장자의 파일이 있습니다. (" + name + ")";
+                }
+                if (FileValidationUtils.hasDangerousExtensionInFilename(name, snapshot)) {
+                    return "압축 파일 안에 차단된 확장자가 포함된 파일명이 있습니다. (" + name + ")";
+                }
+                return null;
+            }
+
+            @Override
+            public String checkHeader(String entryName, byte[] header, int length) {
+                String name = getEntryFilename(entryName);
+                HeaderCheck check = UploadValidationServiceImpl.this.checkHeader(name, header, length, signatures, snapshot, false);
+                if (check.blockedExtension() != null) {
+                    return "압축 파일 안에서 확장자 우회 공격이 감지되었습니다. (" + name + ", 매직 바이트: "
+                            + getMagicByteInfo(check.blockedExtension()) + ")";
+                }
+                return null;
+            }
+        };
+    }
+
+    // 항목 경로에서 파일명 부분 (구분자는 '/', 일부 도구는 역슬래시도 사용)
+    private static String getEntryFilename(String entryName) {
+        int slash = Math.max(entryName.lastIndexOf('/'), entryName.lastIndexOf('\\'));
+        return slash >= 0 ? entryName.substring(slash + 1) : entryName;
+    }
+
+    @Override
+    public FileVerdictResponseDto evaluate(List<FileVerdictItemDto> files) {
+        // 모든 항목을 같은 차단 목록 스냅샷/시그니처 테이블로 판정
+        BlocklistSnapshot snapshot = extensionService.getBlocklistSnapshot();
+        MagicSignatureTable signatures = magicSignatureRegistry.current();
+        int headerLength = FileValidationUtils.getHeaderLength(signatures);
+
+        List<FileVerdictDto> verdicts = new ArrayList<>(files.size());
+        for (FileVerdictItemDto file : files) {
+            verdicts.add(evaluate(file, snapshot, signatures, headerLength));
+        }
+        return FileVerdictResponseDto.builder()
+                .blocklistVersion(snapshot.getVersion())
+                .verdicts(verdicts)
+                .build();
+    }
+
+    private FileVerdictDto evaluate(FileVerdictItemDto file, BlocklistSnapshot snapshot,
+                                    MagicSignatureTable signatures, int headerLength) {
+        String filename = file != null ? file.getFilename() : null;
+        if (filename == null || filename.trim().isEmpty()) {
+            return rejected(filename, "invalid_filename", "유효한 파일명이 필요합니다.", null);
+        }
+
+        Rejection rejection = checkFilename(filename, snapshot, false);
+        if (rejection != null) {
+            return rejected(filename, getReasonCode(rejection), getFilenameRejectionMessage(rejection), null);
+        }
+
+        String detectedType = null;
+        byte[] header = file.getHeader();
+        if (header != null && header.length > 0) {
+            HeaderCheck check = checkHeader(filename, header, Math.min(header.length, headerLength), signatures, snapshot, false);
+            detectedType = check.detectedType();
+            if (check.blockedExtension() != null) {
+                return rejected(filename, getReasonCode(Rejection.MAGIC_BYPASS),
+                        getMagicBypassMessage(check.blockedExtension()), detectedType);
+            }
+        }
+        return FileVerdictDto.builder()
+                .filename(filename)
+                .allowed(true)
+                .detectedType(detectedType)
+                .build();
+    }
+
+    /**
+     * 파일명 검증 1~4단계. 거부 사유를 반환하고 통과하면 null을 반환합니다.
+     */
+    private Rejection checkFilename(String originalFilename, BlocklistSnapshot snapshot, boolean timed) {
+        long start = System.nanoTime();
+
+        // 1. 확장자 추출 및 정규화
+        String extension = FileValidationUtils.getLastExtension(originalFilename);
+        String normalized = extension != null ? extension.replace(".", "").toLowerCase().trim() : "";
+
+        // 2. 확장자 유효성 검증
+        boolean valid = extensionService.isValidExtensionName(normalized);
+        start = recordStage(Stage.EXTENSION_PARSE, start, timed);
+        if (!valid) {
+            return Rejection.INVALID_EXTENSION;
+        }
+
+        // 3. 확장자 차단 여부 확인
+        boolean blocked = snapshot.isBlocked(normalized);
+        start = recordStage(Stage.BLOCKLIST_LOOKUP, start, timed);
+        if (blocked) {
+            return Rejection.BLOCKED_EXTENSION;
+        }
+
+        // 4. 확장자 우회 공격 방지 검사
+        boolean dangerous = FileValidationUtils.hasDangerousExtensionInFilename(originalFilename, snapshot);
+        recordStage(Stage.DOUBLE_EXTENSION, start, timed);
+        return dangerous ? Rejection.DOUBLE_EXTENSION : null;
+    }
+
+    /**
+     * 5. 매직 바이트 검증 (한 번만 호출)
+     */
+    private HeaderCheck checkHeader(String originalFilename, byte[] header, int length,
+                                    MagicSignatureTable signatures, BlocklistSnapshot snapshot, boolean timed) {
+        long start = System.nanoTime();
+        String detectedType = length < 2 ? "" : FileValidationUtils.detectFileType(header, length, signatures);
+        String detectedExtension = length < 2 ? ""
+                : FileValidationUtils.getFileExtensionFromDetectedType(originalFilename, detectedType);
+        boolean blocked = !detectedExtension.isEmpty() && snapshot.isBlocked(detectedExtension);
+        recordStage(Stage.MAGIC_SNIFF, start, timed);
+        return new HeaderCheck(detectedType, blocked ? detectedExtension : null);
+    }
+
+    private record HeaderCheck(String detectedType, String blockedExtension) {
+    }
+
+    // 사전 검사(evaluate)는 업로드가 아니므로 단계별 시간을 기록하지 않음
+    private long recordStage(Stage stage, long start, boolean timed) {
+        return timed ? uploadMetrics.recordStage(stage, start) : start;
+    }
+
+    private static FileVerdictDto rejected(String filename, String reason, String message, String detectedType) {
+        return FileVerdictDto.builder()
+                .filename(filename)
+                .allowed(false)
+                .reason(reason)
+                .message(message)
+                .detectedType(detectedType)
+                .build();
+    }
+
+    private static String getReasonCode(Rejection rejection) {
+        return rejection.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String getFilenameRejectionMessage(Rejection rejection) {
+        switch (rejection) {
+            case INVALID_EXTENSION:
+                return "유효하지 않은 확장자입니다.";
+            case BLOCKED_EXTENSION:
+                return "차단된 확장자입니다.";
+            case DOUBLE_EXTENSION:
+                return "파일명에 차단된 확장자가 포함되어 있습니다. (예: test.exe.txt)";
+            default:
+                return "허용되지 않는 파일입니다.";
+        }
+    }
+
+    private String getMagicBypassMessage(String detectedExtension) {
+        return "확장자 우회 공격이 감지되었습니다. (매직 바이트: " + getMagicByteInfo(detectedExtension) + ")";
+    }
+
+    /**
+     * 매직 바이트 정보를 사용자 친화적으로 반환합니다.
+     */
+    private String getMagicByteInfo(String detectedExtension) {
+        switch (detectedExtension.toLowerCase()) {
+            case "exe":
+                return "PE 헤더 (4D 5A) - Windows 실행 파일";
+            case "bat":
+                return "배치 스크립트 패턴 - Windows 배치 파일";
+            case "cmd":
+                return "명령 스크립트 패턴 - Windows 명령 파일";
+            case "js":
+                return "JavaScript 패턴 - JavaScript 파일";
+            case "ps1":
+                return "PowerShell 패턴 - PowerShell 스크립트";
+            case "vbs":
+                return "VBScript 패턴 - VBScript 파일";
+            case "hta":
+                return "HTA 패턴 - HTML 애플리케이션";
+            case "pdf":
+                return "PDF 시그니처 (25 50 44 46) - PDF 문서";
+            case "zip":
+                return "ZIP 시그니처 (50 4B) - 압축 파일";
+            case "jpg":
+                return "JPEG 시그니처 (FF D8) - JPEG 이미지";
+            case "png":
+                return "PNG 시그니처 (89 50 4E 47) - PNG 이미지";
+            case "gif":
+                return "GIF 시그니처 (47 49 46 38) - GIF 이미지";
+            default:
+                return detectedExtension + " 형식";
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.fileextension.proj.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 검증/저장 단계별 소요 시간, 거부 사유, 감지된 매직 바이트 형식, 업로드 크기를 기록합니다.
+ * (/actuator/metrics, /actuator/prometheus 로 확인)
+ *
+ * upload.validation.stage{stage}  검증 단계별 소요 시간
+ * upload.storage{outcome}         본문 읽기 + 저장 소요 시간 (stored / rejected / failed)
+ * upload.rejections{reason}       거부 사유별 건수
+ * upload.magic.detected{type}     매직 바이트로 감지된 형식별 건수
+ * upload.size                     저장된 파일 크기 (bytes)
+ */
+@Component
+public class UploadMetrics {
+
+    public enum Stage {
+        EXTENSION_PARSE, BLOCKLIST_LOOKUP, DOUBLE_EXTENSION, MAGIC_SNIFF, ARCHIVE_INSPECTION, CONTENT_SCAN
+    }
+
+    public enum Rejection {
+        INVALID_EXTENSION, BLOCKED_EXTENSION, DOUBLE_EXTENSION, MAGIC_BYPASS, SIZE_LIMIT, ADMISSION,
+        ARCHIVE_ENTRY, ARCHIVE_LIMIT, EMBEDDED_CONTENT
+    }
+
+    public enum StorageOutcome {
+        STORED, REJECTED, FAILED
+    }
+
+    private final MeterRegistry registry;
+
+    // 업로드마다 조회하지 않도록 미리 등록해 둠
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<StorageOutcome, Timer> storageTimers = new EnumMap<>(StorageOutcome.class);
+    private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+    private final Map<String, Counter> magicTypes = new ConcurrentHashMap<>();
+    private final DistributionSummary uploadSize;
+
+    public UploadMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("upload.validation.stage")
+                    .description("업로드 검증 단계별 소요 시간")
+                    .tag("stage", tagValue(stage))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (StorageOutcome outcome : StorageOutcome.values()) {
+            storageTimers.put(outcome, Timer.builder("upload.storage")
+                    .description("업로드 본문 읽기 + 저장 소요 시간")
+                    .tag("outcome", tagValue(outcome))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, Counter.builder("upload.rejections")
+                    .description("거부 사유별 업로드 수")
+                    .tag("reason", tagValue(rejection))
+                    .register(registry));
+        }
+        this.uploadSize = DistributionSummary.builder("upload.size")
+                .description("저장된 업로드 파일 크기")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * startNanos(System.nanoTime())부터 지금까지를 해당 검증 단계 시간으로 기록하고, 현재 시각을 반환합니다.
+     */
+    public long recordStage(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void recordStorage(StorageOutcome outcome, long startNanos) {
+        storageTimers.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUploadSize(long bytes) {
+        uploadSize.record(bytes);
+    }
+
+    public void rejected(Rejection rejection) {
+        rejections.get(rejection).increment();
+    }
+
+    /**
+     * 감지된 형식별 건수 (형식은 시그니처 테이블/스크립트 패턴에서 나오므로 종류가 제한됨)
+     */
+    public void magicDetected(String detectedType) {
+        String type = detectedType == null || detectedType.isEmpty() ? "unknown" : detectedType;
+        magicTypes.computeIfAbsent(type, t -> Counter.builder("upload.magic.detected")
+                .description("매직 바이트로 감지된 형식별 업로드 수")
+                .tag("type", t)
+                .register(registry)).increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
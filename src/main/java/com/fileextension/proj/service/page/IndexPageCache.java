@@ -0,0 +1,171 @@
+package com.fileextension.proj.service.page;
+
+import com.fileextension.proj.service.ExtensionService;
+import com.fileextension.proj.service.FileStorageService;
+import com.fileextension.proj.service.storage.UploadDirectoryIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 메인 페이지(index.html)를 조각별로 렌더링해 보관하고, 요청마다 이어 붙이기만 합니다.
+ *
+ * 틀(index.html)        내용이 바뀌지 않으므로 처음 한 번만 렌더링
+ * fixedExtensions      차단 목록 버전이 바뀔 때만 다시 렌더링
+ * customExtensions     차단 목록 버전이 바뀔 때만 다시 렌더링
+ * fileUpload           업로드 인덱스 버전이 바뀔 때만 다시 렌더링
+ *
+ * 두 버전이 모두 같으면 이어 붙인 페이지도 그대로 재사용하며, 두 버전으로 만든 ETag로 304 응답을 지원합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndexPageCache {
+
+    private static final String FIXED_EXTENSIONS = "fixedExtensions";
+    private static final String CUSTOM_EXTENSIONS = "customExtensions";
+    private static final String FILE_UPLOAD = "fileUpload";
+    private static final List<String> FRAGMENTS = List.of(FIXED_EXTENSIONS, CUSTOM_EXTENSIONS, FILE_UPLOAD);
+
+    // 재시작하면 업로드 인덱스 버전이 0부터 다시 시작하고 템플릿도 바뀔 수 있으므로 ETag에 기동 시각을 넣음
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ITemplateEngine templateEngine;
+    private final ExtensionService extensionService;
+    private final FileStorageService fileStorageService;
+    private final UploadDirectoryIndex uploadDirectoryIndex;
+
+    private final AtomicReference<List<byte[]>> shell = new AtomicReference<>();
+    private final AtomicReference<Fragment> fixedExtensions = new AtomicReference<>();
+    private final AtomicReference<Fragment> customExtensions = new AtomicReference<>();
+    private final AtomicReference<Fragment> fileUpload = new AtomicReference<>();
+    private final AtomicReference<Page> page = new AtomicReference<>();
+
+    /**
+     * 렌더링된 페이지 본문과 ETag
+     */
+    public record Page(long blocklistVersion, long uploadVersion, String etag, byte[] body) {
+    }
+
+    private record Fragment(long version, byte[] html) {
+    }
+
+    /**
+     * 현재 버전의 ETag (본문을 만들지 않고 304 여부를 판단할 때 사용)
+     */
+    public String currentEtag() {
+        return etag(extensionService.getBlocklistSnapshot().getVersion(), uploadDirectoryIndex.getVersion());
+    }
+
+    public Page current() {
+        // 목록보다 버전을 먼저 읽음 - 조각이 버전보다 새로울 수는 있어도 오래될 수는 없음
+        long blocklistVersion = extensionService.getBlocklistSnapshot().getVersion();
+        long uploadVersion = uploadDirectoryIndex.getVersion();
+
+        Page cached = page.get();
+        if (cached != null && cached.blocklistVersion() == blocklistVersion && cached.uploadVersion() == uploadVersion) {
+            return cached;
+        }
+
+        byte[] fixedHtml = fragment(fixedExtensions, blocklistVersion, FIXED_EXTENSIONS, version -> Map.of(
+                "fixedExtensions", extensionService.getAllFixedExtensions(),
+                "blocklistVersion", version));
+        byte[] customHtml = fragment(customExtensions, blocklistVersion, CUSTOM_EXTENSIONS, version -> Map.of(
+                "customExtensions", extensionService.getAllCustomExtensions(),
+                "maxCustomExtensions", extensionService.getMaxCustomExtensionCount()));
+        byte[] uploadHtml = fragment(fileUpload, uploadVersion, FILE_UPLOAD, version -> Map.of(
+                "uploadedFiles", fileStorageService.listFiles()));
+
+        List<byte[]> segments = shell();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                fixedHtml.length + customHtml.length + uploadHtml.length + segments.stream().mapToInt(s -> s.length).sum());
+        out.writeBytes(segments.get(0));
+        out.writeBytes(fixedHtml);
+        out.writeBytes(segments.get(1));
+        out.writeBytes(customHtml);
+        out.writeBytes(segments.get(2));
+        out.writeBytes(uploadHtml);
+        out.writeBytes(segments.get(3));
+
+        Page assembled = new Page(blocklistVersion, uploadVersion, etag(blocklistVersion, uploadVersion), out.toByteArray());
+        page.set(assembled);
+        return assembled;
+    }
+
+    /**
+     * 오류 페이지 (캐시하지 않음)
+     */
+    public byte[] renderError(String message) {
+        return render("error", null, Map.of("error", message));
+    }
+
+    private byte[] fragment(AtomicReference<Fragment> cache, long version, String name,
+                            Function<Long, Map<String, Object>> variables) {
+        Fragment cached = cache.get();
+        if (cached != null && cached.version() == version) {
+            return cached.html();
+        }
+        Fragment rendered = new Fragment(version, render("fragments/" + name, Set.of(name), variables.apply(version)));
+        // 더 새로운 버전이 이미 저장되어 있으면 덮어쓰지 않음
+        cache.accumulateAndGet(rendered, (current, next) -> current == null || current.version() < next.version() ? next : current);
+        log.debug("메인 페이지 조각 렌더링: {} (version={})", name, version);
+        return rendered.html();
+    }
+
+    // 조각 자리에 표시를 넣어 틀을 렌더링한 뒤, 표시 기준으로 잘라 둠
+    private List<byte[]> shell() {
+        List<byte[]> segments = shell.get();
+        if (segments != null) {
+            return segments;
+        }
+        Map<String, Object> markers = new HashMap<>();
+        for (String name : FRAGMENTS) {
+            markers.put(name + "Fragment", marker(name));
+        }
+        String html = new String(render("index", null, markers), StandardCharsets.UTF_8);
+
+        List<byte[]> split = new ArrayList<>(FRAGMENTS.size() + 1);
+        int start = 0;
+        for (String name : FRAGMENTS) {
+            int at = html.indexOf(marker(name), start);
+            if (at < 0) {
+                throw new IllegalStateException("index.html에 조각 자리가 없습니다: " + name);
+            }
+            split.add(html.substring(start, at).getBytes(StandardCharsets.UTF_8));
+            start = at + marker(name).length();
+        }
+        split.add(html.substring(start).getBytes(StandardCharsets.UTF_8));
+        segments = List.copyOf(split);
+        shell.set(segments);
+        return segments;
+    }
+
+    private byte[] render(String template, Set<String> selectors, Map<String, Object> variables) {
+        Context context = new Context(Locale.KOREAN, variables);
+        String html = selectors == null
+                ? templateEngine.process(template, context)
+                : templateEngine.process(template, selectors, context);
+        return html.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String marker(String name) {
+        return "<!--fragment:" + name + "-->";
+    }
+
+    private String etag(long blocklistVersion, long uploadVersion) {
+        return "\"index-" + instanceId + "-" + blocklistVersion + "-" + uploadVersion + "\"";
+    }
+}
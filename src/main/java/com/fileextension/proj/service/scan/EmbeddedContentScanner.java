@@ -0,0 +1,428 @@
+package com.fileextension.proj.service.scan;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * 파일 본문 전체에서 숨겨진 실행 파일 헤더(PE / ELF / Mach-O)와 스크립트 표식을 찾습니다.
+ * 매직 바이트 검사는 앞부분만 보므로, 정상 JPEG/PDF 헤더 뒤에 붙인 페이로드(폴리글랏)는 이 검사로 잡습니다.
+ * 작은 파일은 고정 크기 버퍼로 순차 검사하고, 큰 파일은 구간별로 매핑해 ForkJoin으로 나눠 검사합니다.
+ * 구간 경계에 걸친 시그니처를 놓치지 않도록 각 구간은 최대 확인 길이만큼 다음 구간과 겹쳐 읽습니다.
+ */
+@Component
+@Slf4j
+public class EmbeddedContentScanner {
+
+    // 실행 파일은 시그니처 테이블과 같은 형식명(exe)으로 보고
+    public static final String EXECUTABLE = "exe";
+
+    // PE 헤더 위치(e_lfanew) 허용 범위 - 실제 파일은 대부분 0x80 ~ 0x200
+    private static final int PE_MIN_OFFSET = 0x40;
+    private static final int PE_MAX_OFFSET = 0x400;
+    // 한 위치에서 시그니처를 확인할 때 앞으로 읽는 최대 길이 (구간 겹침 크기)
+    private static final int MAX_LOOKAHEAD = PE_MAX_OFFSET + 4;
+
+    /**
+     * 본문 어디서든 나오면 스크립트로 볼 수 있는 표식 (대소문자 무시).
+     * 앞부분 검사용 키워드("var ", "if " 등)는 본문 전체에서는 오탐이 많아 쓰지 않고,
+     * 압축된 데이터에서 우연히 나올 확률이 무시할 만큼 긴 표식만 둡니다.
+     */
+    private static final String[][] SCRIPT_MARKERS = {
+            {"js", "<script"},
+            {"hta", "<hta:application"},
+            {"vbs", "wscript.shell"},
+            {"vbs", "createobject("},
+            {"ps1", "invoke-expression"},
+            {"ps1", "-encodedcommand"},
+            {"ps1", "downloadstring("},
+            {"ps1", "frombase64string("},
+            {"bat", "@echo off"},
+            {"cmd", "cmd.exe /c"},
+            {"cmd", "cmd /c "},
+            {"php", "<?php"},
+    };
+
+    // 검사 대상 형식 (비트 위치 = 인덱스, 0번은 실행 파일)
+    private static final String[] TYPES = {EXECUTABLE, "js", "hta", "vbs", "ps1", "bat", "cmd", "php"};
+
+    private static final int[] FOLD = new int[256];
+
+    static {
+        for (int c = 0; c < 256; c++) {
+            FOLD[c] = (c >= 'A' && c <= 'Z') ? c + ('a' - 'A') : c;
+        }
+    }
+
+    @Value("${file.upload.content-scan.enabled:false}")
+    private boolean enabled;
+
+    // 이 크기 이상이면 매핑 후 병렬 검사
+    @Value("${file.upload.content-scan.parallel-threshold:2MB}")
+    private DataSize parallelThreshold;
+
+    // 병렬 검사에서 작업 하나가 맡는 구간 크기
+    @Value("${file.upload.content-scan.segment-size:1MB}")
+    private DataSize segmentSize;
+
+    // 순차 검사 / 구간 복사에 쓰는 버퍼 크기
+    @Value("${file.upload.content-scan.buffer-size:64KB}")
+    private DataSize bufferSize;
+
+    // 병렬 검사 스레드 수 (0이면 CPU 코어 수)
+    @Value("${file.upload.content-scan.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool pool;
+
+    // 차단된 형식 조합별 검사 대상 (조합 수가 2^TYPES.length로 제한되므로 만들어 두고 재사용)
+    private final AtomicReferenceArray<Targets> targetsCache = new AtomicReferenceArray<>(1 << TYPES.length);
+
+    /**
+     * 감지 결과. type은 시그니처 테이블 / 스크립트 계열과 같은 형식명, offset은 파일 안의 위치입니다.
+     */
+    public record Finding(String type, long offset) {
+    }
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        // 코어가 하나면 나눠 봐야 이득이 없으므로 항상 순차 검사
+        if (enabled && threads > 1) {
+            pool = new ForkJoinPool(threads, forkJoinPool -> {
+                var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                thread.setName("content-scan-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 디스크에 저장된 파일을 검사합니다. 차단된 형식이 처음 발견되면 반환하고, 없으면 null을 반환합니다.
+     *
+     * @param blocked        형식명(exe, js ...)이 차단 대상인지
+     * @param includeScripts 스크립트 표식까지 찾을지 (텍스트 파일은 실행 파일 헤더만 찾음)
+     */
+    public Finding scan(Path file, long size, Predicate<String> blocked, boolean includeScripts) throws IOException {
+        Targets targets = targets(blocked, includeScripts);
+        if (targets == null || size <= 1) {
+            return null;
+        }
+        if (size < parallelThreshold.toBytes() || pool == null) {
+            try (InputStream in = Files.newInputStream(file)) {
+                return scan(in, targets);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            AtomicReference<Finding> found = new AtomicReference<>();
+            pool.invoke(new SegmentTask(channel, targets, found, 0, size, size));
+            return found.get();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Targets targets(Predicate<String> blocked, boolean includeScripts) {
+        if (!enabled) {
+            return null;
+        }
+        int mask = 0;
+        for (int i = 0; i < (includeScripts ? TYPES.length : 1); i++) {
+            if (blocked.test(TYPES[i])) {
+                mask |= 1 << i;
+            }
+        }
+        if (mask == 0) {
+            return null;
+        }
+        Targets targets = targetsCache.get(mask);
+        if (targets == null) {
+            targets = new Targets(mask);
+            targetsCache.set(mask, targets);
+        }
+        return targets;
+    }
+
+    private static int typeBit(String type) {
+        return 1 << Arrays.asList(TYPES).indexOf(type);
+    }
+
+    // 고정 크기 버퍼로 끝까지 순차 검사
+    private Finding scan(InputStream in, Targets targets) throws IOException {
+        // 버퍼 끝 MAX_LOOKAHEAD 바이트는 다음 읽기 앞으로 옮겨 경계에 걸친 시그니처도 확인
+        byte[] buffer = new byte[(int) bufferSize.toBytes() + MAX_LOOKAHEAD];
+        long base = 0;
+        int length = 0;
+        boolean eof = false;
+        while (!eof) {
+            int read = in.readNBytes(buffer, length, buffer.length - length);
+            length += read;
+            eof = length < buffer.length;
+            int end = eof ? length : length - MAX_LOOKAHEAD;
+            int hit = targets.find(buffer, 0, end, length);
+            if (hit >= 0) {
+                return new Finding(targets.typeAt(buffer, hit, length), base + hit);
+            }
+            System.arraycopy(buffer, end, buffer, 0, length - end);
+            base += end;
+            length -= end;
+        }
+        return null;
+    }
+
+    /**
+     * [from, to) 구간을 반씩 나누다가 segmentSize 이하가 되면 그 구간을 매핑해 검사합니다.
+     * 다른 작업에서 먼저 찾으면 남은 작업은 바로 끝냅니다.
+     */
+    private class SegmentTask extends RecursiveAction {
+
+        private final FileChannel channel;
+        private final Targets targets;
+        private final AtomicReference<Finding> found;
+        private final long from;
+        private final long to;
+        private final long size;
+
+        SegmentTask(FileChannel channel, Targets targets, AtomicReference<Finding> found, long from, long to, long size) {
+            this.channel = channel;
+            this.targets = targets;
+            this.found = found;
+            this.from = from;
+            this.to = to;
+            this.size = size;
+        }
+
+        @Override
+        protected void compute() {
+            if (found.get() != null) {
+                return;
+            }
+            if (to - from > segmentSize.toBytes()) {
+                long middle = from + (to - from) / 2;
+                invokeAll(new SegmentTask(channel, targets, found, from, middle, size),
+                        new SegmentTask(channel, targets, found, middle, to, size));
+                return;
+            }
+            try {
+                scanSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void scanSegment() throws IOException {
+            // 구간 뒤로 MAX_LOOKAHEAD만큼 더 매핑 (시작 위치는 [from, to) 안에 있는 것만 확인)
+            long mapEnd = Math.min(size, to + MAX_LOOKAHEAD);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, from, mapEnd - from);
+            int window = (int) bufferSize.toBytes();
+            byte[] chunk = new byte[window + MAX_LOOKAHEAD];
+            long segmentLength = to - from;
+            for (long start = 0; start < segmentLength; start += window) {
+                if (found.get() != null) {
+                    return;
+                }
+                int length = (int) Math.min(chunk.length, mapped.capacity() - start);
+                mapped.get((int) start, chunk, 0, length);
+                int end = (int) Math.min(window, segmentLength - start);
+                int hit = targets.find(chunk, 0, end, length);
+                if (hit >= 0) {
+                    Finding finding = new Finding(targets.typeAt(chunk, hit, length), from + start + hit);
+                    // 여러 구간에서 찾으면 앞쪽 위치를 남김
+                    found.accumulateAndGet(finding, (a, b) -> a == null || b.offset() < a.offset() ? b : a);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 차단된 형식만 골라 만든 검사 대상.
+     * 시그니처 앞 2바이트 조합을 표로 두고, 블록 단위로 분기 없이 조회해 후보가 있는 블록만 다시 자세히 확인합니다.
+     */
+    private static final class Targets {
+
+        private static final int[][] EXECUTABLE_PREFIXES = {
+                {'M', 'Z'}, {0x7F, 'E'}, {0xFE, 0xED}, {0xCE, 0xFA}, {0xCF, 0xFA}
+        };
+
+        // 후보가 없는지 한 번에 확인하는 블록 크기
+        private static final int BLOCK_SIZE = 256;
+
+        // (첫 바이트 << 8 | 둘째 바이트) -> 후보면 1
+        private final byte[] prefixes = new byte[1 << 16];
+        private final boolean executables;
+        // 첫 바이트(소문자)별 스크립트 표식
+        private final byte[][][] markersByFirst = new byte[256][][];
+        private final String[][] typesByFirst = new String[256][];
+
+        Targets(int mask) {
+            executables = (mask & 1) != 0;
+            if (executables) {
+                for (int[] prefix : EXECUTABLE_PREFIXES) {
+                    prefixes[prefix[0] << 8 | prefix[1]] = 1;
+                }
+            }
+            for (String[] marker : SCRIPT_MARKERS) {
+                if ((mask & typeBit(marker[0])) == 0) {
+                    continue;
+                }
+                byte[] pattern = marker[1].getBytes(StandardCharsets.US_ASCII);
+                int c0 = pattern[0] & 0xFF;
+                int c1 = pattern[1] & 0xFF;
+                // 대소문자 조합 모두 후보로 등록
+                for (int a : new int[]{c0, Character.toUpperCase(c0)}) {
+                    for (int b : new int[]{c1, Character.toUpperCase(c1)}) {
+                        prefixes[a << 8 | b] = 1;
+                    }
+                }
+                byte[][] markers = markersByFirst[c0];
+                int n = markers == null ? 0 : markers.length;
+                markersByFirst[c0] = markers == null ? new byte[1][] : Arrays.copyOf(markers, n + 1);
+                typesByFirst[c0] = markers == null ? new String[1] : Arrays.copyOf(typesByFirst[c0], n + 1);
+                markersByFirst[c0][n] = pattern;
+                typesByFirst[c0][n] = marker[0];
+            }
+        }
+
+        /**
+         * data[from, to)에서 시작하는 첫 번째 시그니처 위치. 확인은 data[.., limit)까지 읽습니다.
+         * (모든 시그니처가 2바이트 이상이므로 limit - 1 이후는 볼 필요 없음)
+         */
+        int find(byte[] data, int from, int to, int limit) {
+            int end = Math.min(to, limit - 1);
+            byte[] table = prefixes;
+            for (int block = from; block < end; block += BLOCK_SIZE) {
+                int blockEnd = Math.min(end, block + BLOCK_SIZE);
+                int hit = 0;
+                for (int i = block; i < blockEnd; i++) {
+                    hit |= table[(data[i] & 0xFF) << 8 | (data[i + 1] & 0xFF)];
+                }
+                if (hit == 0) {
+                    continue;
+                }
+                for (int i = block; i < blockEnd; i++) {
+                    if (table[(data[i] & 0xFF) << 8 | (data[i + 1] & 0xFF)] != 0 && typeAt(data, i, limit) != null) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        String typeAt(byte[] data, int i, int limit) {
+            if (executables && isExecutableHeader(data, i, limit)) {
+                return EXECUTABLE;
+            }
+            int first = FOLD[data[i] & 0xFF];
+            byte[][] markers = markersByFirst[first];
+            if (markers != null) {
+                for (int m = 0; m < markers.length; m++) {
+                    if (matchesIgnoreCase(data, i, limit, markers[m])) {
+                        return typesByFirst[first][m];
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static boolean matchesIgnoreCase(byte[] data, int i, int limit, byte[] pattern) {
+            if (i + pattern.length > limit) {
+                return false;
+            }
+            for (int k = 0; k < pattern.length; k++) {
+                if (FOLD[data[i + k] & 0xFF] != pattern[k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 임의의 바이너리에서 우연히 맞지 않도록 매직 값 뒤의 헤더 필드까지 확인합니다.
+     */
+    static boolean isExecutableHeader(byte[] data, int i, int limit) {
+        int available = limit - i;
+        switch (data[i] & 0xFF) {
+            case 'M' -> {
+                // PE: MZ ... e_lfanew(0x3C) 위치에 PE\0\0
+                if (available < 0x40 || data[i + 1] != 'Z') {
+                    return false;
+                }
+                int peOffset = le32(data, i + 0x3C);
+                return peOffset >= PE_MIN_OFFSET && peOffset <= PE_MAX_OFFSET && peOffset + 4 <= available
+                        && data[i + peOffset] == 'P' && data[i + peOffset + 1] == 'E'
+                        && data[i + peOffset + 2] == 0 && data[i + peOffset + 3] == 0;
+            }
+            case 0x7F -> {
+                // ELF: 클래스(32/64), 바이트 순서, 버전까지 확인
+                return available >= 7 && data[i + 1] == 'E' && data[i + 2] == 'L' && data[i + 3] == 'F'
+                        && (data[i + 4] == 1 || data[i + 4] == 2)
+                        && (data[i + 5] == 1 || data[i + 5] == 2)
+                        && data[i + 6] == 1;
+            }
+            case 0xFE, 0xCE, 0xCF -> {
+                // Mach-O: 매직 + 알려진 CPU 타입 + 파일 타입(1~12)
+                if (available < 16) {
+                    return false;
+                }
+                int magic = be32(data, i);
+                boolean bigEndian;
+                if (magic == 0xFEEDFACE || magic == 0xFEEDFACF) {
+                    bigEndian = true;
+                } else if (magic == 0xCEFAEDFE || magic == 0xCFFAEDFE) {
+                    bigEndian = false;
+                } else {
+                    return false;
+                }
+                int cpuType = bigEndian ? be32(data, i + 4) : le32(data, i + 4);
+                int fileType = bigEndian ? be32(data, i + 12) : le32(data, i + 12);
+                int cpu = cpuType & 0x00FFFFFF;
+                boolean knownCpu = (cpuType & 0xFE000000) == 0 && (cpu == 7 || cpu == 12 || cpu == 18);
+                return knownCpu && fileType >= 1 && fileType <= 12;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private static int le32(byte[] data, int i) {
+        return (data[i] & 0xFF) | (data[i + 1] & 0xFF) << 8 | (data[i + 2] & 0xFF) << 16 | (data[i + 3] & 0xFF) << 24;
+    }
+
+    private static int be32(byte[] data, int i) {
+        return (data[i] & 0xFF) << 24 | (data[i + 1] & 0xFF) << 16 | (data[i + 2] & 0xFF) << 8 | (data[i + 3] & 0xFF);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fileextension.proj.service.signature;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 매직 바이트 시그니처 테이블을 보관합니다.
+ * 재로딩은 별도 스레드에서 새 테이블을 만든 뒤 원자적으로 교체하므로, 검증 중인 요청은 항상 완성된 테이블만 봅니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MagicSignatureRegistry {
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${file.magic-signatures.location:classpath:" + MagicSignatureTable.DEFAULT_RESOURCE + "}")
+    private String location;
+
+    private final AtomicReference<MagicSignatureTable> table = new AtomicReference<>();
+
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "magic-signature-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        try {
+            table.set(load());
+        } catch (Exception e) {
+            // 외부 파일이 잘못되어도 기본 시그니처로 기동
+            log.error("시그니처 파일 로딩 실패, 기본 시그니처를 사용합니다: {}", e.getMessage());
+            table.set(MagicSignatureTable.builtIn());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    public MagicSignatureTable current() {
+        MagicSignatureTable current = table.get();
+        return current != null ? current : MagicSignatureTable.builtIn();
+    }
+
+    /**
+     * 시그니처 파일을 백그라운드에서 다시 읽어 테이블을 교체합니다.
+     * 파싱에 실패하면 기존 테이블을 그대로 유지합니다.
+     */
+    public CompletableFuture<MagicSignatureTable> reloadAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                MagicSignatureTable loaded = load();
+                table.set(loaded);
+                return loaded;
+            } catch (IOException e) {
+                throw new IllegalStateException("시그니처 파일 로딩 실패: " + e.getMessage(), e);
+            }
+        }, reloadExecutor);
+    }
+
+    private MagicSignatureTable load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            MagicSignatureTable loaded = MagicSignatureTable.parse(in);
+            log.info("매직 바이트 시그니처 로딩 완료: {}개 ({})", loaded.getSignatureCount(), location);
+            return loaded;
+        }
+    }
+}
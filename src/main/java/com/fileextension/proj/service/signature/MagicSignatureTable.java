@@ -0,0 +1,334 @@
+package com.fileextension.proj.service.signature;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 매직 바이트 시그니처 목록을 컴파일한 불변 조회 테이블입니다.
+ * 시그니처는 (첫 조건의 offset, 그 위치의 바이트)로 점프 테이블에 나뉘어 들어가므로
+ * 시그니처가 수백 개로 늘어나도 조회 시 실제로 비교하는 후보는 몇 개뿐입니다.
+ */
+public final class MagicSignatureTable {
+
+    public static final String DEFAULT_RESOURCE = "magic-signatures.txt";
+    // 간접 offset(@pos:le32 등)이 가리킬 수 있는 최대 위치 - 헤더를 이만큼까지만 읽습니다.
+    public static final int MAX_INDIRECT_OFFSET = 1024;
+
+    private static volatile MagicSignatureTable builtIn;
+
+    private final int signatureCount;
+    private final int headerLength;
+    // 첫 조건 offset 목록과, offset별 [첫 바이트][] 후보 시그니처 (우선순위순)
+    private final int[] keyOffsets;
+    private final Signature[][][] buckets;
+
+    private MagicSignatureTable(List<Signature> signatures) {
+        this.signatureCount = signatures.size();
+
+        Map<Integer, List<List<Signature>>> grouped = new TreeMap<>();
+        int required = 0;
+        for (Signature signature : signatures) {
+            Condition key = signature.conditions[0];
+            List<List<Signature>> byByte = grouped.computeIfAbsent(key.offset, offset -> {
+                List<List<Signature>> lists = new ArrayList<>(256);
+                for (int i = 0; i < 256; i++) {
+                    lists.add(new ArrayList<>());
+                }
+                return lists;
+            });
+            byByte.get(key.bytes[0] & 0xFF).add(signature);
+            required = Math.max(required, signature.requiredLength());
+        }
+
+        this.headerLength = required;
+        this.keyOffsets = new int[grouped.size()];
+        this.buckets = new Signature[grouped.size()][][];
+        int g = 0;
+        for (Map.Entry<Integer, List<List<Signature>>> entry : grouped.entrySet()) {
+            keyOffsets[g] = entry.getKey();
+            buckets[g] = new Signature[256][];
+            for (int b = 0; b < 256; b++) {
+                List<Signature> list = entry.getValue().get(b);
+                buckets[g][b] = list.isEmpty() ? null : list.toArray(new Signature[0]);
+            }
+            g++;
+        }
+    }
+
+    /**
+     * 클래스패스의 기본 시그니처 파일로 만든 테이블 (Spring 빈 없이 사용하는 정적 경로용)
+     */
+    public static MagicSignatureTable builtIn() {
+        MagicSignatureTable table = builtIn;
+        if (table == null) {
+            synchronized (MagicSignatureTable.class) {
+                table = builtIn;
+                if (table == null) {
+                    try (InputStream in = MagicSignatureTable.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+                        if (in == null) {
+                            throw new IllegalStateException("시그니처 파일을 찾을 수 없습니다: " + DEFAULT_RESOURCE);
+                        }
+                        table = parse(in);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("시그니처 파일 로딩 실패: " + e.getMessage(), e);
+                    }
+                    builtIn = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    public int getSignatureCount() {
+        return signatureCount;
+    }
+
+    /**
+     * 모든 시그니처를 판단하는 데 필요한 헤더 길이
+     */
+    public int getHeaderLength() {
+        return headerLength;
+    }
+
+    /**
+     * 헤더와 일치하는 시그니처 중 우선순위가 가장 높은 시그니처의 type을 반환합니다. 없으면 빈 문자열을 반환합니다.
+     */
+    public String detect(byte[] header, int length) {
+        Signature best = null;
+        for (int g = 0; g < keyOffsets.length; g++) {
+            int offset = keyOffsets[g];
+            if (offset >= length) {
+                break;
+            }
+            Signature[] candidates = buckets[g][header[offset] & 0xFF];
+            if (candidates == null) {
+                continue;
+            }
+            for (Signature candidate : candidates) {
+                if (best != null && candidate.priority > best.priority) {
+                    break;
+                }
+                if (candidate.matches(header, length)) {
+                    best = candidate;
+                    break;
+                }
+            }
+        }
+        return best != null ? best.type : "";
+    }
+
+    /**
+     * 시그니처 정의 파일을 읽어 테이블을 만듭니다. 형식은 magic-signatures.txt 주석을 참고하세요.
+     */
+    public static MagicSignatureTable parse(InputStream in) throws IOException {
+        List<Signature> signatures = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String content = stripComment(line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            try {
+                signatures.add(parseLine(content, signatures.size()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("시그니처 정의 오류 (" + lineNumber + "행): " + e.getMessage(), e);
+            }
+        }
+        return new MagicSignatureTable(signatures);
+    }
+
+    private static Signature parseLine(String content, int priority) {
+        String[] tokens = tokenize(content);
+        if (tokens.length < 3 || tokens.length % 2 == 0) {
+            throw new IllegalArgumentException("<type> <offset> <bytes> [...] 형식이어야 합니다.");
+        }
+
+        Condition[] conditions = new Condition[(tokens.length - 1) / 2];
+        for (int i = 0; i < conditions.length; i++) {
+            conditions[i] = parseCondition(tokens[1 + i * 2], tokens[2 + i * 2]);
+        }
+        if (conditions[0].indirectPosition >= 0 || conditions[0].mask[0] == 0) {
+            throw new IllegalArgumentException("첫 번째 조건은 고정 offset과 고정 첫 바이트여야 합니다.");
+        }
+        return new Signature(tokens[0].toLowerCase(), priority, conditions);
+    }
+
+    private static Condition parseCondition(String offsetSpec, String bytesSpec) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream mask = new ByteArrayOutputStream();
+        for (int i = 0; i < bytesSpec.length(); ) {
+            char c = bytesSpec.charAt(i);
+            if (c == '"') {
+                int close = bytesSpec.indexOf('"', i + 1);
+                if (close < 0) {
+                    throw new IllegalArgumentException("닫히지 않은 문자열: " + bytesSpec);
+                }
+                for (byte b : bytesSpec.substring(i + 1, close).getBytes(StandardCharsets.US_ASCII)) {
+                    bytes.write(b);
+                    mask.write(0xFF);
+                }
+                i = close + 1;
+            } else {
+                if (i + 1 >= bytesSpec.length()) {
+                    throw new IllegalArgumentException("16진수는 두 자리씩 써야 합니다: " + bytesSpec);
+                }
+                String hex = bytesSpec.substring(i, i + 2);
+                if (hex.equals("??")) {
+                    bytes.write(0);
+                    mask.write(0);
+                } else {
+                    bytes.write(Integer.parseInt(hex, 16));
+                    mask.write(0xFF);
+                }
+                i += 2;
+            }
+        }
+        if (bytes.size() == 0) {
+            throw new IllegalArgumentException("비교할 바이트가 없습니다.");
+        }
+
+        if (offsetSpec.startsWith("@")) {
+            int colon = offsetSpec.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("간접 offset은 @<pos>:le32 또는 @<pos>:le16 형식이어야 합니다.");
+            }
+            int position = parseNumber(offsetSpec.substring(1, colon));
+            String width = offsetSpec.substring(colon + 1);
+            int size = switch (width) {
+                case "le32" -> 4;
+                case "le16" -> 2;
+                default -> throw new IllegalArgumentException("지원하지 않는 간접 offset 형식: " + width);
+            };
+            return new Condition(-1, position, size, bytes.toByteArray(), mask.toByteArray());
+        }
+        return new Condition(parseNumber(offsetSpec), -1, 0, bytes.toByteArray(), mask.toByteArray());
+    }
+
+    private static int parseNumber(String text) {
+        String lower = text.toLowerCase();
+        int value = lower.startsWith("0x") ? Integer.parseInt(lower.substring(2), 16) : Integer.parseInt(lower);
+        if (value < 0) {
+            throw new IllegalArgumentException("offset은 0 이상이어야 합니다: " + text);
+        }
+        return value;
+    }
+
+    // 공백 기준으로 나누되 "..." 안의 공백은 유지
+    private static String[] tokenize(String content) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            if (Character.isWhitespace(c) && !quoted) {
+                if (current.length() > 0) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static String stripComment(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '#' && !quoted) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    private static final class Signature {
+        private final String type;
+        private final int priority;
+        private final Condition[] conditions;
+
+        private Signature(String type, int priority, Condition[] conditions) {
+            this.type = type;
+            this.priority = priority;
+            this.conditions = conditions;
+        }
+
+        private boolean matches(byte[] header, int length) {
+            for (Condition condition : conditions) {
+                if (!condition.matches(header, length)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int requiredLength() {
+            int required = 0;
+            for (Condition condition : conditions) {
+                required = Math.max(required, condition.indirectPosition >= 0
+                        ? MAX_INDIRECT_OFFSET
+                        : condition.offset + condition.bytes.length);
+            }
+            return required;
+        }
+    }
+
+    private static final class Condition {
+        private final int offset;
+        private final int indirectPosition;
+        private final int indirectSize;
+        private final byte[] bytes;
+        private final byte[] mask;
+
+        private Condition(int offset, int indirectPosition, int indirectSize, byte[] bytes, byte[] mask) {
+            this.offset = offset;
+            this.indirectPosition = indirectPosition;
+            this.indirectSize = indirectSize;
+            this.bytes = bytes;
+            this.mask = mask;
+        }
+
+        private boolean matches(byte[] header, int length) {
+            long start = offset;
+            if (indirectPosition >= 0) {
+                if (indirectPosition + indirectSize > length) {
+                    return false;
+                }
+                start = 0;
+                for (int i = indirectSize - 1; i >= 0; i--) {
+                    start = (start << 8) | (header[indirectPosition + i] & 0xFF);
+                }
+            }
+            if (start + bytes.length > length) {
+                return false;
+            }
+            int base = (int) start;
+            for (int i = 0; i < bytes.length; i++) {
+                if ((header[base + i] & mask[i]) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
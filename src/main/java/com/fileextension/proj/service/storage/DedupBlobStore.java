@@ -0,0 +1,246 @@
+package com.fileextension.proj.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SHA-256 기준 내용 주소 저장소입니다.
+ * 실제 내용은 업로드 디렉토리 아래 .blobs/ab/cd/<sha256> 에 한 번만 저장하고,
+ * 사용자에게 보이는 파일명은 blob에 대한 하드 링크로 만들어 목록/삭제 API는 그대로 동작합니다.
+ */
+@Component
+@Slf4j
+public class DedupBlobStore {
+
+    public static final String BLOB_DIR = ".blobs";
+    private static final Pattern SHA256_HEX = Pattern.compile("^[0-9a-f]{64}$");
+    private static final String HASH_ATTRIBUTE = "sha256";
+    private static final int LOCK_STRIPES = 64;
+
+    // 같은 해시의 연결/삭제를 직렬화하는 잠금 (해시 앞 바이트로 나눔)
+    private final Object[] locks = newLocks();
+
+    @Value("${file.upload.dir:./uploads}")
+    private String uploadDir;
+
+    @Value("${file.storage.dedup.enabled:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isValidHash(String sha256) {
+        return sha256 != null && SHA256_HEX.matcher(sha256).matches();
+    }
+
+    public Path blobPath(String sha256) {
+        if (!isValidHash(sha256)) {
+            throw new IllegalArgumentException("유효하지 않은 SHA-256 값입니다.");
+        }
+        return root().resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    public boolean exists(String sha256) {
+        return isValidHash(sha256) && Files.isRegularFile(blobPath(sha256));
+    }
+
+    /**
+     * 업로드 내용을 임시로 받을 파일을 만듭니다. (blob, 업로드 디렉토리와 같은 파일 시스템이며 디렉토리 인덱스에는 잡히지 않음)
+     */
+    public Path createTempFile() throws IOException {
+        Path tmp = root().resolve("tmp");
+        Files.createDirectories(tmp);
+        return Files.createTempFile(tmp, "upload-", ".part");
+    }
+
+    /**
+     * 사용자 파일명 dest를 sha256 blob에 연결합니다.
+     * blob이 없으면(처음 올라온 내용이거나 동시 삭제로 사라진 경우) content를 blob으로 확정한 뒤 연결합니다.
+     * content는 blob과 같은 파일 시스템의 임시 파일이며, 확정되지 않고 남은 경우 호출한 쪽에서 지웁니다.
+     * 같은 해시의 연결/삭제는 잠금으로 직렬화되어, 연결 직전에 blob이 지워지는 일이 없습니다.
+     * dest가 이미 있으면 FileAlreadyExistsException, blob도 content도 없으면 NoSuchFileException이 발생합니다.
+     */
+    public void link(String sha256, Path content, Path dest) throws IOException {
+        Path blob = blobPath(sha256);
+        synchronized (lockFor(sha256)) {
+            if (!Files.exists(blob)) {
+                commit(content, sha256, blob);
+            }
+            try {
+                createLink(blob, dest);
+            } catch (NoSuchFileException e) {
+                // 잠금 밖(다른 프로세스, 수동 정리 등)에서 blob이 지워진 경우 받은 내용으로 다시 확정
+                commit(content, sha256, blob);
+                createLink(blob, dest);
+            }
+        }
+    }
+
+    /**
+     * 사용자 파일을 삭제하고, 마지막 참조였다면 blob도 삭제합니다.
+     * 파일이 가리키는 blob은 blob에 기록해 둔 해시 속성으로 찾습니다. (하드 링크는 inode를 공유하므로 속성도 공유)
+     */
+    public void delete(Path file) throws IOException {
+        String sha256 = hashOf(file);
+        if (sha256 == null) {
+            // 일반 파일 (중복 제거 이전 업로드, 하드 링크 대신 복사한 파일)
+            Files.delete(file);
+            return;
+        }
+
+        synchronized (lockFor(sha256)) {
+            Files.delete(file);
+            Path blob = blobPath(sha256);
+            if (Files.exists(blob) && linkCount(blob) == 1) {
+                Files.deleteIfExists(blob);
+                log.debug("참조가 없는 blob 삭제: {}", sha256);
+            }
+        }
+    }
+
+    // 잠금을 잡은 상태에서 호출
+    private void commit(Path content, String sha256, Path blob) throws IOException {
+        if (content == null || !Files.exists(content)) {
+            throw new NoSuchFileException(blob.toString());
+        }
+        Files.createDirectories(blob.getParent());
+        try {
+            Files.move(content, blob, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(content, blob);
+        }
+        writeHash(blob, sha256);
+    }
+
+    private void createLink(Path blob, Path dest) throws IOException {
+        try {
+            Files.createLink(dest, blob);
+        } catch (UnsupportedOperationException e) {
+            log.warn("하드 링크를 지원하지 않는 파일 시스템입니다. 복사로 대체합니다: {}", dest);
+            Files.copy(blob, dest);
+        } catch (FileSystemException e) {
+            if (!isLinkNotPermitted(e)) {
+                // NoSuchFileException, FileAlreadyExistsException, AccessDeniedException 등은 그대로 전달
+                throw e;
+            }
+            log.warn("하드 링크 생성 실패, 복사로 대체합니다: {}", e.getMessage());
+            Files.copy(blob, dest);
+        }
+    }
+
+    // EXDEV(다른 파일 시스템), EPERM(하드 링크를 허용하지 않는 파일 시스템)은 세부 예외 타입 없이 사유 문자열로만 구분됨
+    private static boolean isLinkNotPermitted(FileSystemException e) {
+        if (e.getClass() != FileSystemException.class || e.getReason() == null) {
+            return false;
+        }
+        String reason = e.getReason().toLowerCase(Locale.ROOT);
+        return reason.contains("cross-device") || reason.contains("not permitted");
+    }
+
+    /**
+     * 파일이 blob에 대한 링크면 blob의 해시를, 아니면 null을 반환합니다.
+     * 해시 속성이 없는 blob(속성 기록 이전에 만든 blob, 확장 속성을 지원하지 않는 파일 시스템)은
+     * 한 번 내용을 해시해 속성에 기록하므로, 같은 blob의 다른 파일명을 지울 때는 다시 계산하지 않습니다.
+     */
+    private String hashOf(Path file) throws IOException {
+        String sha256 = readHash(file);
+        if (sha256 != null) {
+            return sha256;
+        }
+        if (linkCount(file) < 2) {
+            return null;
+        }
+        sha256 = sha256(file);
+        if (!Files.exists(blobPath(sha256))) {
+            // blob이 아닌 다른 파일과 하드 링크로 연결된 경우
+            return null;
+        }
+        writeHash(file, sha256);
+        return sha256;
+    }
+
+    private String readHash(Path file) {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(file, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            view.read(HASH_ATTRIBUTE, buffer);
+            buffer.flip();
+            String sha256 = StandardCharsets.US_ASCII.decode(buffer).toString();
+            return isValidHash(sha256) ? sha256 : null;
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private void writeHash(Path file, String sha256) {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(file, UserDefinedFileAttributeView.class);
+        if (view == null) {
+            return;
+        }
+        try {
+            view.write(HASH_ATTRIBUTE, StandardCharsets.US_ASCII.encode(sha256));
+        } catch (IOException | UnsupportedOperationException e) {
+            log.debug("blob 해시 속성 기록 실패 (삭제 시 내용으로 계산): {}", e.getMessage());
+        }
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private Object lockFor(String sha256) {
+        return locks[Integer.parseInt(sha256.substring(0, 2), 16) % locks.length];
+    }
+
+    private int linkCount(Path file) {
+        try {
+            return (Integer) Files.getAttribute(file, "unix:nlink");
+        } catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+            return 1;
+        }
+    }
+
+    private String sha256(Path file) throws IOException {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            byte[] buffer = new byte[64 * 1024];
+            while (in.read(buffer) >= 0) {
+                // 해시 계산
+            }
+            return HexFormat.of().formatHex(((DigestInputStream) in).getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private Path root() {
+        return Paths.get(uploadDir).resolve(BLOB_DIR);
+    }
+}
@@ -0,0 +1,134 @@
+package com.fileextension.proj.service.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 중복 파일명을 넘버링 방식(-1, -2, -3...)으로 처리하면서, 이름을 원자적으로 선점합니다.
+ * 이름 확인과 생성을 CREATE_NEW 한 번으로 처리하므로 동시에 같은 이름을 올려도 서로 덮어쓰지 않고,
+ * 기본 이름별 다음 번호를 메모리에 보관하므로 중복이 많아도 시도 횟수가 늘어나지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UniqueFilenameAllocator {
+
+    // 카운터를 보관할 최대 기본 이름 수 (넘으면 비우고 다시 파일 목록에서 계산)
+    private static final int MAX_COUNTERS = 10_000;
+
+    private final UploadStorageLayout layout;
+    private final UploadDirectoryIndex directoryIndex;
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 이름을 선점하는 동작. 해당 파일명이 이미 있으면 FileAlreadyExistsException을 던져야 합니다.
+     */
+    @FunctionalInterface
+    public interface Claim {
+        void claim(String filename) throws IOException;
+    }
+
+    /**
+     * 레이아웃 경로에 빈 파일을 CREATE_NEW로 만들어 이름을 선점하고, 선점한 파일명을 반환합니다.
+     */
+    public String reserve(String originalFilename) throws IOException {
+        return allocate(originalFilename, filename -> {
+            checkNotMigrating(filename);
+            Path target = layout.target(filename);
+            Files.createDirectories(target.getParent());
+            Files.createFile(target);
+        });
+    }
+
+    /**
+     * sharded 모드에서 아직 옮겨지지 않은 같은 이름의 flat 파일이 있으면 사용 중인 이름으로 봅니다.
+     */
+    public void checkNotMigrating(String filename) throws FileAlreadyExistsException {
+        if (layout.isSharded() && Files.exists(layout.flatPath(filename))) {
+            throw new FileAlreadyExistsException(filename);
+        }
+    }
+
+    /**
+     * 원래 파일명부터 시도하고, 이미 있으면 다음 번호로 선점합니다. 선점에 성공한 파일명을 반환합니다.
+     */
+    public String allocate(String originalFilename, Claim claim) throws IOException {
+        if (originalFilename == null || originalFilename.isEmpty()) {
+            throw new IllegalArgumentException("파일명이 필요합니다.");
+        }
+
+        // 1. 원래 이름 (삭제되어 비어 있으면 그대로 사용)
+        if (tryClaim(originalFilename, claim)) {
+            return originalFilename;
+        }
+
+        // 2. 기본 이름별 카운터로 다음 번호 선점 (처음 충돌 시 파일 목록에서 가장 큰 번호로 초기화)
+        int dotIdx = originalFilename.lastIndexOf('.');
+        String nameWithoutExt = dotIdx != -1 ? originalFilename.substring(0, dotIdx) : originalFilename;
+        String extension = dotIdx != -1 ? originalFilename.substring(dotIdx) : "";
+
+        AtomicLong counter = counters.get(originalFilename);
+        if (counter == null) {
+            if (counters.size() >= MAX_COUNTERS) {
+                counters.clear();
+            }
+            counter = counters.computeIfAbsent(originalFilename,
+                    k -> new AtomicLong(highestSuffix(nameWithoutExt, extension) + 1));
+        }
+
+        while (true) {
+            String candidate = nameWithoutExt + "-" + counter.getAndIncrement() + extension;
+            if (tryClaim(candidate, claim)) {
+                return candidate;
+            }
+            // 다른 경로(직접 복사 등)로 생긴 파일이면 다음 번호로 계속
+        }
+    }
+
+    private boolean tryClaim(String filename, Claim claim) throws IOException {
+        try {
+            claim.claim(filename);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+    // 업로드 파일 중 "<이름>-<번호><확장자>"의 가장 큰 번호 (없으면 0)
+    private long highestSuffix(String nameWithoutExt, String extension) {
+        String prefix = nameWithoutExt + "-";
+        long highest = 0;
+        for (String name : directoryIndex.list()) {
+            if (name.length() <= prefix.length() + extension.length()
+                    || !name.startsWith(prefix) || !name.endsWith(extension)) {
+                continue;
+            }
+            String digits = name.substring(prefix.length(), name.length() - extension.length());
+            if (isNumber(digits)) {
+                highest = Math.max(highest, Long.parseLong(digits));
+            }
+        }
+        return highest;
+    }
+
+    private static boolean isNumber(String text) {
+        if (text.isEmpty() || text.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,293 @@
+package com.fileextension.proj.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 디렉토리의 파일 목록을 최신순으로 메모리에 보관하는 인덱스입니다.
+ * 기동 시 한 번 스캔한 뒤 업로드/삭제 이벤트와 WatchService(앱 밖에서 생긴 변경)로 갱신하므로,
+ * 목록 조회는 파일 시스템에 접근하지 않습니다.
+ * 업로드 디렉토리 바로 아래 파일(flat)과 샤드 디렉토리(ab/cd) 안의 파일을 함께 인덱싱합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadDirectoryIndex {
+
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparingLong(Entry::lastModified).reversed()
+            .thenComparing(Entry::name);
+
+    private final UploadStorageLayout layout;
+
+    // 변경은 lock으로 직렬화, 조회는 skip list를 잠금 없이 순회
+    private final Object lock = new Object();
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> ordered = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final AtomicLong version = new AtomicLong();
+    private volatile Listing cachedListing = new Listing(-1, List.of());
+
+    private Path root;
+    private WatchService watchService;
+    private volatile boolean watchLimitReached;
+
+    @PostConstruct
+    public void init() {
+        root = layout.getRoot();
+        try {
+            Files.createDirectories(root);
+            rescan();
+            startWatcher();
+        } catch (IOException e) {
+            // 감시 없이도 업로드/삭제 이벤트로는 계속 갱신됨
+            log.error("업로드 디렉토리 감시 시작 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * 최신순 파일명 목록 (변경이 없으면 같은 불변 리스트를 재사용)
+     */
+    public List<String> list() {
+        Listing listing = cachedListing;
+        long current = version.get();
+        if (listing.version() != current) {
+            List<String> built = new ArrayList<>(ordered.size());
+            for (Entry entry : ordered) {
+                built.add(entry.name());
+            }
+            listing = new Listing(current, List.copyOf(built));
+            cachedListing = listing;
+        }
+        return listing.names();
+    }
+
+    /**
+     * 목록이 바뀔 때마다 증가하는 버전 (캐시 무효화용)
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean contains(String filename) {
+        return byName.containsKey(filename);
+    }
+
+    // 앱에서 파일을 저장한 직후 호출
+    public void onStored(String filename) {
+        refresh(filename);
+    }
+
+    // 앱에서 파일을 삭제한 직후 호출
+    public void onDeleted(String filename) {
+        remove(filename);
+    }
+
+    /**
+     * 디렉토리를 다시 읽어 인덱스를 통째로 맞춥니다. (기동 시, 감시 이벤트 유실 시)
+     */
+    public void rescan() throws IOException {
+        Map<String, Entry> scanned = new HashMap<>();
+        scanDirectory(root, 0, scanned);
+        synchronized (lock) {
+            byName.clear();
+            byName.putAll(scanned);
+            ordered.clear();
+            ordered.addAll(scanned.values());
+            changed();
+        }
+        log.info("업로드 디렉토리 인덱스 구성 완료: {}개", scanned.size());
+    }
+
+    // depth 0(업로드 디렉토리)과 2(샤드)의 파일을 모으고, 샤드 디렉토리로 내려감
+    private void scanDirectory(Path directory, int depth, Map<String, Entry> scanned) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                if (depth < 2 && isShardDirectory(path)) {
+                    scanDirectory(path, depth + 1, scanned);
+                } else if (depth != 1) {
+                    Entry entry = stat(path);
+                    if (entry != null) {
+                        scanned.put(entry.name(), entry);
+                    }
+                }
+            }
+        }
+    }
+
+    // 파일명의 현재 상태로 갱신 (없으면 제거)
+    private void refresh(String filename) {
+        Entry entry;
+        try {
+            entry = stat(layout.resolve(filename));
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        if (entry == null) {
+            remove(filename);
+            return;
+        }
+        synchronized (lock) {
+            Entry previous = byName.put(filename, entry);
+            if (entry.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(entry);
+            changed();
+        }
+    }
+
+    private void remove(String filename) {
+        synchronized (lock) {
+            Entry previous = byName.remove(filename);
+            if (previous != null) {
+                ordered.remove(previous);
+                changed();
+            }
+        }
+    }
+
+    private void changed() {
+        version.incrementAndGet();
+    }
+
+    // 일반 파일만 인덱스 대상 (.blobs 같은 하위 디렉토리 제외)
+    private Entry stat(Path path) {
+        try {
+            if (!Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)) {
+                return null;
+            }
+            return new Entry(path.getFileName().toString(), Files.getLastModifiedTime(path).toMillis());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean isShardDirectory(Path path) {
+        return UploadStorageLayout.isShardName(path.getFileName().toString())
+                && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private void startWatcher() throws IOException {
+        watchService = root.getFileSystem().newWatchService();
+        register(root);
+
+        Thread watcher = new Thread(this::watchLoop, "upload-dir-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    // 디렉토리와 그 아래 샤드 디렉토리를 감시 대상으로 등록
+    private void register(Path directory) throws IOException {
+        if (watchLimitReached) {
+            return;
+        }
+        try {
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            // inotify 감시 개수 제한 등 - 이후 샤드는 업로드/삭제 이벤트로만 갱신
+            watchLimitReached = true;
+            log.warn("샤드 디렉토리 감시 등록 실패, 이후 디렉토리는 감시하지 않습니다: {}", e.getMessage());
+            return;
+        }
+        if (depthOf(directory) < 2) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    if (isShardDirectory(path)) {
+                        register(path);
+                    }
+                }
+            }
+        }
+    }
+
+    private int depthOf(Path path) {
+        return root.relativize(path).getNameCount() - (path.equals(root) ? 1 : 0);
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                int depth = depthOf(directory);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // 이벤트가 유실되었으므로 전체를 다시 맞춤
+                        try {
+                            rescan();
+                        } catch (IOException e) {
+                            log.error("업로드 디렉토리 재스캔 실패: {}", e.getMessage());
+                        }
+                        continue;
+                    }
+                    Path path = directory.resolve((Path) event.context());
+                    if (depth < 2 && event.kind() == StandardWatchEventKinds.ENTRY_CREATE && isShardDirectory(path)) {
+                        // 새 샤드 디렉토리: 감시 등록 후, 등록 전에 생긴 파일까지 반영
+                        onShardCreated(path);
+                    } else if (depth != 1) {
+                        refresh(path.getFileName().toString());
+                    }
+                }
+                if (!key.reset() && directory.equals(root)) {
+                    log.warn("업로드 디렉토리 감시가 중단되었습니다: {}", root);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // 종료
+        }
+    }
+
+    private void onShardCreated(Path directory) {
+        try {
+            register(directory);
+            Map<String, Entry> scanned = new HashMap<>();
+            scanDirectory(directory, depthOf(directory), scanned);
+            scanned.keySet().forEach(this::refresh);
+        } catch (IOException e) {
+            log.warn("샤드 디렉토리 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private record Entry(String name, long lastModified) {
+    }
+
+    private record Listing(long version, List<String> names) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.fileextension.proj.service.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+
+/**
+ * sharded 레이아웃으로 기동하면 업로드 디렉토리 바로 아래 남아 있는 flat 파일을 샤드 디렉토리로 옮깁니다.
+ * 백그라운드에서 파일 단위로 진행하며, 옮기는 중에도 UploadStorageLayout.resolve가 flat 경로를 찾아 주므로
+ * 목록/삭제 API는 그대로 동작합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UploadLayoutMigrator implements CommandLineRunner {
+
+    private final UploadStorageLayout layout;
+    private final UploadDirectoryIndex directoryIndex;
+
+    @Value("${file.storage.layout-migration.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(String... args) {
+        if (!layout.isSharded() || !enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::migrate, "upload-layout-migrator");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * flat 파일을 모두 샤드 경로로 옮기고 옮긴 개수를 반환합니다.
+     */
+    public int migrate() {
+        int migrated = 0;
+        int skipped = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(layout.getRoot())) {
+            for (Path flat : stream) {
+                if (!Files.isRegularFile(flat, LinkOption.NOFOLLOW_LINKS)) {
+                    continue;
+                }
+                String filename = flat.getFileName().toString();
+                try {
+                    if (moveToShard(flat, layout.shardedPath(filename))) {
+                        migrated++;
+                        directoryIndex.onStored(filename);
+                    } else {
+                        skipped++;
+                    }
+                } catch (IOException e) {
+                    skipped++;
+                    log.warn("샤드 디렉토리로 이동 실패: {} ({})", filename, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.error("저장 레이아웃 마이그레이션 실패: {}", e.getMessage());
+        }
+        if (migrated > 0 || skipped > 0) {
+            log.info("저장 레이아웃 마이그레이션 완료: {}개 이동, {}개 건너뜀", migrated, skipped);
+        }
+        return migrated;
+    }
+
+    // 하드 링크를 먼저 만들고 flat 경로를 지우므로 어느 시점에도 파일이 사라지지 않음
+    private boolean moveToShard(Path flat, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        try {
+            Files.createLink(target, flat);
+        } catch (FileAlreadyExistsException e) {
+            if (!Files.isSameFile(flat, target)) {
+                log.warn("샤드 경로에 다른 파일이 있어 건너뜁니다: {}", target);
+                return false;
+            }
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            // 하드 링크를 지원하지 않는 파일 시스템
+            Files.move(flat, target);
+            return true;
+        }
+        Files.delete(flat);
+        return true;
+    }
+}
@@ -0,0 +1,108 @@
+package com.fileextension.proj.service.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * 업로드 파일명을 디스크 경로로 바꿔 주는 저장 레이아웃입니다.
+ * flat: <업로드 디렉토리>/<파일명>
+ * sharded: <업로드 디렉토리>/ab/cd/<파일명> (파일명 SHA-256 앞 2바이트, 2단계 x 256개 디렉토리)
+ * sharded 모드에서도 아직 옮기지 않은 flat 파일은 그대로 찾을 수 있습니다.
+ */
+@Component
+public class UploadStorageLayout {
+
+    public enum Mode {
+        FLAT, SHARDED
+    }
+
+    private final Path root;
+    private final Mode mode;
+
+    public UploadStorageLayout(@Value("${file.upload.dir:./uploads}") String uploadDir,
+                               @Value("${file.storage.layout:flat}") String layout) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.mode = Mode.valueOf(layout.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public boolean isSharded() {
+        return mode == Mode.SHARDED;
+    }
+
+    /**
+     * 기존 파일의 경로. sharded 모드에서 샤드에 없으면 flat 경로를 확인합니다.
+     */
+    public Path resolve(String filename) {
+        Path target = target(filename);
+        if (isSharded() && !Files.exists(target)) {
+            Path flat = flatPath(filename);
+            if (Files.exists(flat)) {
+                return flat;
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 새 파일을 만들 경로 (현재 레이아웃 기준)
+     */
+    public Path target(String filename) {
+        return isSharded() ? shardedPath(filename) : flatPath(filename);
+    }
+
+    public Path flatPath(String filename) {
+        return root.resolve(checkFilename(filename));
+    }
+
+    public Path shardedPath(String filename) {
+        String shard = shardOf(checkFilename(filename));
+        return root.resolve(shard.substring(0, 2)).resolve(shard.substring(2, 4)).resolve(filename);
+    }
+
+    /**
+     * 샤드 디렉토리 이름 형식인지 (소문자 16진수 2자리)
+     */
+    public static boolean isShardName(String name) {
+        return name.length() == 2 && isHex(name.charAt(0)) && isHex(name.charAt(1));
+    }
+
+    // 파일명 SHA-256의 앞 2바이트 (16진수 4자리)
+    static String shardOf(String filename) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(filename.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 2);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // 경로 구분자가 들어간 이름으로 업로드 디렉토리 밖을 가리키지 않도록 막음
+    private static String checkFilename(String filename) {
+        if (filename == null || filename.isEmpty() || filename.equals(".") || filename.equals("..")
+                || filename.indexOf('/') >= 0 || filename.indexOf('\\') >= 0 || filename.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("유효하지 않은 파일명입니다.");
+        }
+        return filename;
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+    }
+}
@@ -0,0 +1,64 @@
+package com.fileextension.proj.config.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilenameTokenizerTest {
+
+    private final PackedExtensionSet blocked = PackedExtensionSet.of(List.of("exe", "bat", "a-b"));
+
+    @Test
+    void findsBlockedSegmentBeforeLastExtension() {
+        String filename = "memo.exe.txt";
+        int end = filename.lastIndexOf('.');
+
+        assertThat(FilenameTokenizer.anySegmentIn(filename, 0, end, blocked)).isTrue();
+        assertThat(FilenameTokenizer.anySegmentIn("memo.txt", 0, 4, blocked)).isFalse();
+    }
+
+    @Test
+    void segmentsAreCaseInsensitiveAndTrimmed() {
+        assertThat(anySegment("report. EXE .pdf")).isTrue();
+        assertThat(anySegment("report.Bat.txt")).isTrue();
+        // 글자 사이 공백은 다른 조각
+        assertThat(anySegment("report.e xe")).isFalse();
+    }
+
+    @Test
+    void partialMatchesDoNotCount() {
+        assertThat(anySegment("exec.txt")).isFalse();
+        assertThat(anySegment("myexe.txt")).isFalse();
+        assertThat(anySegment("..txt")).isFalse();
+        assertThat(anySegment("")).isFalse();
+    }
+
+    @Test
+    void unpackableSegmentsFallBackToStringComparison() {
+        assertThat(anySegment("data.A-B.zip")).isTrue();
+        assertThat(anySegment("data.a_b.zip")).isFalse();
+    }
+
+    @Test
+    void nonAsciiLettersDoNotFoldIntoBlockedExtensions() {
+        // U+212A KELVIN SIGN, U+0130 (대문자 I 점) 등은 ASCII 확장자로 보지 않음
+        PackedExtensionSet set = PackedExtensionSet.of(List.of("key", "ini"));
+
+        assertThat(FilenameTokenizer.anySegmentIn("a.Key.txt", 0, 6, set)).isFalse();
+        assertThat(FilenameTokenizer.anySegmentIn("a.İni.txt", 0, 6, set)).isFalse();
+        assertThat(FilenameTokenizer.anySegmentIn("a.KEY.txt", 0, 5, set)).isTrue();
+    }
+
+    @Test
+    void emptySetNeverMatches() {
+        assertThat(FilenameTokenizer.anySegmentIn("virus.exe", 0, 9, PackedExtensionSet.empty())).isFalse();
+    }
+
+    // 마지막 마침표 앞까지만 검사 (없으면 전체)
+    private boolean anySegment(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return FilenameTokenizer.anySegmentIn(filename, 0, dot < 0 ? filename.length() : dot, blocked);
+    }
+}
@@ -0,0 +1,42 @@
+package com.fileextension.proj.config.common.utils;
+
+import com.fileextension.proj.config.common.exception.FileRejectedException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartStreamParserTest {
+
+    private static final String BOUNDARY = "xyz";
+
+    private static MultipartStreamParser parser(String disposition) {
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: " + disposition + "\r\n"
+                + "Content-Type: text/plain\r\n\r\n"
+                + "hello\r\n"
+                + "--" + BOUNDARY + "--\r\n";
+        return new MultipartStreamParser(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), BOUNDARY, 8 * 1024);
+    }
+
+    @Test
+    void decodesRfc5987Filename() throws IOException {
+        MultipartStreamParser.Part part = parser(
+                "form-data; name=\"file\"; filename*=UTF-8''%ED%8C%8C%EC%9D%BC.txt").nextPart();
+
+        assertThat(part.getFilename()).isEqualTo("파일.txt");
+    }
+
+    @Test
+    void rejectsMalformedPercentEscape() {
+        assertThatThrownBy(() -> parser("form-data; name=\"file\"; filename*=UTF-8''%ZZ.txt").nextPart())
+                .isInstanceOf(FileRejectedException.class);
+        assertThatThrownBy(() -> parser("form-data; name=\"file\"; filename*=UTF-8''a.txt%").nextPart())
+                .isInstanceOf(FileRejectedException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.fileextension.proj.config.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedExtensionSetTest {
+
+    @Test
+    void containsNormalizesCaseDotsAndBlanks() {
+        PackedExtensionSet set = PackedExtensionSet.of(List.of("exe", "bat", "tar"));
+
+        assertThat(set.size()).isEqualTo(3);
+        assertThat(set.contains("exe")).isTrue();
+        assertThat(set.contains("EXE")).isTrue();
+        assertThat(set.contains(".Bat")).isTrue();
+        assertThat(set.contains("  tar ")).isTrue();
+        assertThat(set.contains("ex")).isFalse();
+        assertThat(set.contains("exe1")).isFalse();
+        assertThat(set.contains("")).isFalse();
+        assertThat(set.contains(null)).isFalse();
+    }
+
+    @Test
+    void containsChecksOnlyTheGivenRange() {
+        PackedExtensionSet set = PackedExtensionSet.of(List.of("exe"));
+        String filename = "setup.exe.txt";
+
+        assertThat(set.contains(filename, 6, 9)).isTrue();
+        assertThat(set.contains(filename, 10, 13)).isFalse();
+        assertThat(set.contains(filename, 5, 9)).isTrue();
+    }
+
+    @Test
+    void longExtensionsUseBothHalves() {
+        // 12자를 넘으면 뒷부분은 lo에 패킹됨
+        String twenty = "abcdefghijklmnopqrst";
+        PackedExtensionSet set = PackedExtensionSet.of(List.of(twenty, "abcdefghijklmnopqrsu"));
+
+        assertThat(set.size()).isEqualTo(2);
+        assertThat(set.contains(twenty)).isTrue();
+        assertThat(set.contains("ABCDEFGHIJKLMNOPQRST")).isTrue();
+        assertThat(set.contains("abcdefghijklmnopqrsv")).isFalse();
+        assertThat(set.contains("abcdefghijkl")).isFalse();
+    }
+
+    @Test
+    void unpackableExtensionsAreComparedAsStrings() {
+        PackedExtensionSet set = PackedExtensionSet.of(List.of("exe", "a-b", "abcdefghijklmnopqrstu"));
+
+        assertThat(set.size()).isEqualTo(3);
+        assertThat(set.contains("A-B")).isTrue();
+        assertThat(set.contains("abcdefghijklmnopqrstu")).isTrue();
+        assertThat(set.contains("a_b")).isFalse();
+    }
+
+    @Test
+    void duplicatesAreCountedOnce() {
+        PackedExtensionSet set = PackedExtensionSet.of(List.of("exe", "EXE", ".exe"));
+
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(PackedExtensionSet.empty().contains("exe")).isFalse();
+        assertThat(PackedExtensionSet.of(List.of()).size()).isEqualTo(0);
+    }
+
+    @Test
+    void isPackableAcceptsOnlyAsciiAlphanumerics() {
+        assertThat(PackedExtensionSet.isPackable("pdf")).isTrue();
+        assertThat(PackedExtensionSet.isPackable(".Mp4 ")).isTrue();
+        assertThat(PackedExtensionSet.isPackable("abcdefghijklmnopqrst")).isTrue();
+
+        assertThat(PackedExtensionSet.isPackable("abcdefghijklmnopqrstu")).isFalse();
+        assertThat(PackedExtensionSet.isPackable("tar-gz")).isFalse();
+        assertThat(PackedExtensionSet.isPackable("")).isFalse();
+        assertThat(PackedExtensionSet.isPackable(null)).isFalse();
+        // KELVIN SIGN(U+212A)은 소문자로 바꾸면 'k'가 되지만 영문자가 아님
+        assertThat(PackedExtensionSet.isPackable("Key")).isFalse();
+        // 전각 영문자도 받지 않음
+        assertThat(PackedExtensionSet.isPackable("ｅxe")).isFalse();
+    }
+
+    @Test
+    void digitMapsOnlyAsciiRanges() {
+        assertThat(PackedExtensionSet.digit('0')).isEqualTo(1);
+        assertThat(PackedExtensionSet.digit('9')).isEqualTo(10);
+        assertThat(PackedExtensionSet.digit('a')).isEqualTo(11);
+        assertThat(PackedExtensionSet.digit('Z')).isEqualTo(36);
+        assertThat(PackedExtensionSet.digit('K')).isEqualTo(-1);
+        assertThat(PackedExtensionSet.digit('İ')).isEqualTo(-1);
+        assertThat(PackedExtensionSet.digit('-')).isEqualTo(-1);
+    }
+}
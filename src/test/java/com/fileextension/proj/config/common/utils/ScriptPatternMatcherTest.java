@@ -0,0 +1,89 @@
+package com.fileextension.proj.config.common.utils;
+
+import com.fileextension.proj.config.common.utils.ScriptPatternMatcher.ScriptFamily;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScriptPatternMatcherTest {
+
+    private final ScriptPatternMatcher matcher = ScriptPatternMatcher.getDefault();
+
+    @Test
+    void detectsEachFamily() {
+        assertThat(match("const x = require('fs');")).isEqualTo(ScriptFamily.JS);
+        assertThat(match("@ECHO OFF\r\npause")).isEqualTo(ScriptFamily.BAT);
+        assertThat(match("tasklist /v")).isEqualTo(ScriptFamily.CMD);
+        assertThat(match("Invoke-Expression $payload")).isEqualTo(ScriptFamily.POWERSHELL);
+        assertThat(match("sh = CreateObject(\"x\")")).isEqualTo(ScriptFamily.VBS);
+        assertThat(match("<HTA:APPLICATION id=\"x\">")).isEqualTo(ScriptFamily.HTA);
+    }
+
+    @Test
+    void plainTextIsNotAScript() {
+        assertThat(match("Hello world. This is a plain note.")).isNull();
+        assertThat(match("name,age,city\nkim,30,seoul")).isNull();
+    }
+
+    @Test
+    void genericWordsDoNotTriggerVbsOrPowerShell() {
+        // 일반 문장/CSV에 나오는 단어는 vbs/ps1로 보지 않음
+        assertThat(match("Dim sum restaurants near me")).isNull();
+        assertThat(match("MsgBox,Title\n1,2")).isNull();
+        assertThat(match("Execute(plan) by end sub review")).isNull();
+        assertThat(match("Lex(2) iex(3)")).isNull();
+    }
+
+    @Test
+    void keywordsAreCaseInsensitive() {
+        assertThat(match("ON ERROR RESUME NEXT")).isEqualTo(ScriptFamily.VBS);
+        assertThat(match("oN eRrOr ReSuMe NeXt")).isEqualTo(ScriptFamily.VBS);
+    }
+
+    @Test
+    void earlierFamilyWinsWhenSeveralMatch() {
+        // JS가 BAT보다 먼저 선언됨
+        byte[] data = ascii("echo hi; function f() {}");
+        assertThat(matcher.match(data, 0, data.length)).isEqualTo(ScriptFamily.JS);
+
+        int mask = matcher.matchAll(data, 0, data.length);
+        assertThat(mask & (1 << ScriptFamily.JS.ordinal())).isNotEqualTo(0);
+        assertThat(mask & (1 << ScriptFamily.BAT.ordinal())).isNotEqualTo(0);
+        assertThat(mask & (1 << ScriptFamily.VBS.ordinal())).isEqualTo(0);
+    }
+
+    @Test
+    void overlappingKeywordsAreFoundThroughFailureLinks() {
+        // 앞쪽 접두어에서 실패해도 그 안에 겹친 키워드를 놓치지 않음
+        assertThat(match("ccmd")).isEqualTo(ScriptFamily.CMD);
+        assertThat(match("new-objecnew-object x")).isEqualTo(ScriptFamily.POWERSHELL);
+    }
+
+    @Test
+    void onlyTheGivenWindowIsScanned() {
+        byte[] data = ascii("plain text ... function");
+        int keyword = data.length - "function".length();
+
+        assertThat(matcher.match(data, 0, keyword)).isNull();
+        assertThat(matcher.match(data, keyword, data.length - keyword)).isEqualTo(ScriptFamily.JS);
+        assertThat(matcher.match(data, keyword, 4)).isNull();
+    }
+
+    @Test
+    void nonAsciiBytesResetTheAutomaton() {
+        byte[] data = {'f', 'u', 'n', (byte) 0xC3, 'c', 't', 'i', 'o', 'n'};
+        assertThat(matcher.match(data, 0, data.length)).isNull();
+        assertThat(matcher.matchAll(new byte[]{(byte) 0xFF, (byte) 0x80}, 0, 2)).isEqualTo(0);
+    }
+
+    private ScriptFamily match(String text) {
+        byte[] data = ascii(text);
+        return matcher.match(data, 0, data.length);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
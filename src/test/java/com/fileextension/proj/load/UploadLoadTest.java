@@ -0,0 +1,297 @@
+package com.fileextension.proj.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 업로드 부하 테스트 (기본 test 태스크에서는 제외, ./gradlew loadTest 로 실행)
+ * 임의 포트 + H2 메모리 DB + 임시 업로드 디렉토리로 앱을 띄우고, 업로드(허용/차단/이중 확장자/매직 바이트 우회),
+ * 목록 조회, 삭제, 차단 목록 수정을 섞어 보낸 뒤 엔드포인트별 처리량과 p50/p95/p99 지연 시간을 리포트 파일로 남깁니다.
+ *
+ * 설정 (-P 또는 -D):
+ * load.duration-seconds(30), load.concurrency(16), load.file-size(16384),
+ * load.mix(allowed=40,blocked=10,double=10,magic=10,list=20,delete=5,extension=5),
+ * load.report(build/reports/load/upload-load.txt)
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.com.fileextension.proj=INFO",
+                "logging.level.org.hibernate.SQL=WARN"
+        })
+class UploadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadLoadTest.class);
+
+    private static final String DEFAULT_MIX = "allowed=40,blocked=10,double=10,magic=10,list=20,delete=5,extension=5";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Queue<String> uploadedFiles = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    private byte[] allowedContent;
+    private byte[] executableContent;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) throws IOException {
+        Path dir = Files.createTempDirectory("load-uploads");
+        registry.add("file.upload.dir", dir::toString);
+    }
+
+    @Test
+    void uploadLoad() throws Exception {
+        int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        int fileSize = Integer.getInteger("load.file-size", 16 * 1024);
+        Map<String, Integer> mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+        Path reportPath = Paths.get(System.getProperty("load.report", "build/reports/load/upload-load.txt"));
+
+        allowedContent = content(fileSize, "Lorem ipsum dolor sit amet, consectetur adipiscing elit.\n".getBytes(StandardCharsets.US_ASCII));
+        executableContent = content(fileSize, new byte[]{'M', 'Z', (byte) 0x90, 0});
+        blockFixedExtension("exe");
+
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (String endpoint : List.of("upload-allowed", "upload-blocked", "upload-double-extension",
+                "upload-magic-bypass", "list", "delete", "extension-add", "extension-delete")) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        runOne(pick(mix), recorders);
+                    }
+                    return null;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        String report = buildReport(recorders, elapsedSeconds, durationSeconds, concurrency, fileSize, mix);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        Files.writeString(reportPath, report);
+        log.info("부하 테스트 결과 ({})\n{}", reportPath.toAbsolutePath(), report);
+
+        // 차단 대상이 통과하거나 허용 대상이 거부되면 부하 중 검증이 깨진 것
+        recorders.forEach((endpoint, recorder) ->
+                assertThat(recorder.errors.get()).as(endpoint + " 오류 응답 수").isZero());
+    }
+
+    private void runOne(String operation, Map<String, LatencyRecorder> recorders) throws Exception {
+        int n = sequence.incrementAndGet();
+        switch (operation) {
+            case "allowed" -> {
+                HttpResponse<String> response = timed(recorders.get("upload-allowed"), 200,
+                        upload("report-" + n + ".txt", allowedContent));
+                if (response.statusCode() == 200) {
+                    uploadedFiles.add(objectMapper.readTree(response.body()).path("data").asText());
+                }
+            }
+            case "blocked" -> timed(recorders.get("upload-blocked"), 400, upload("setup-" + n + ".exe", allowedContent));
+            case "double" -> timed(recorders.get("upload-double-extension"), 400, upload("invoice-" + n + ".exe.pdf", allowedContent));
+            case "magic" -> timed(recorders.get("upload-magic-bypass"), 400, upload("photo-" + n + ".txt", executableContent));
+            case "list" -> timed(recorders.get("list"), 200, get("/api/files"));
+            case "delete" -> {
+                String filename = uploadedFiles.poll();
+                if (filename == null) {
+                    timed(recorders.get("list"), 200, get("/api/files"));
+                } else {
+                    timed(recorders.get("delete"), 200, HttpRequest.newBuilder(uri("/api/files/"
+                            + URLEncoder.encode(filename, StandardCharsets.UTF_8).replace("+", "%20"))).DELETE().build());
+                }
+            }
+            case "extension" -> {
+                HttpResponse<String> added = timed(recorders.get("extension-add"), 200, HttpRequest.newBuilder(uri("/api/extensions/custom"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"extensionName\":\"load" + n + "\"}"))
+                        .build());
+                // 확장자 API는 실패해도 200을 주므로 success 값까지 확인
+                JsonNode body = checkSuccess(recorders.get("extension-add"), added);
+                JsonNode id = body.path("data").path("id");
+                if (!id.isMissingNode() && !id.isNull()) {
+                    checkSuccess(recorders.get("extension-delete"), timed(recorders.get("extension-delete"), 200,
+                            HttpRequest.newBuilder(uri("/api/extensions/custom/" + id.asLong())).DELETE().build()));
+                }
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 작업: " + operation);
+        }
+    }
+
+    private HttpResponse<String> timed(LatencyRecorder recorder, int expectedStatus, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        recorder.record(System.nanoTime() - start, response.statusCode() == expectedStatus);
+        return response;
+    }
+
+    private JsonNode checkSuccess(LatencyRecorder recorder, HttpResponse<String> response) throws IOException {
+        JsonNode body = objectMapper.readTree(response.body());
+        if (response.statusCode() == 200 && !body.path("success").asBoolean()) {
+            recorder.errors.incrementAndGet();
+        }
+        return body;
+    }
+
+    private HttpRequest upload(String filename, byte[] content) {
+        String boundary = "----load" + ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 256);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(uri("/api/files/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void blockFixedExtension(String extensionName) throws Exception {
+        HttpResponse<String> response = client.send(get("/api/extensions/fixed"), HttpResponse.BodyHandlers.ofString());
+        for (JsonNode extension : objectMapper.readTree(response.body()).path("data")) {
+            if (extensionName.equals(extension.path("extensionName").asText())) {
+                client.send(HttpRequest.newBuilder(uri("/api/extensions/fixed/" + extension.path("id").asLong()
+                                + "/status?isBlocked=true")).PUT(HttpRequest.BodyPublishers.noBody()).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                return;
+            }
+        }
+        throw new IllegalStateException("고정 확장자를 찾을 수 없습니다: " + extensionName);
+    }
+
+    private static byte[] content(int size, byte[] prefix) {
+        byte[] content = new byte[Math.max(size, prefix.length)];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        System.arraycopy(prefix, 0, content, 0, prefix.length);
+        return content;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(pair[0].trim(), weight);
+            }
+        }
+        return mix;
+    }
+
+    private static String pick(Map<String, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int r = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static String buildReport(Map<String, LatencyRecorder> recorders, double elapsedSeconds, int durationSeconds,
+                                      int concurrency, int fileSize, Map<String, Integer> mix) {
+        StringBuilder report = new StringBuilder();
+        report.append("# upload load test\n");
+        report.append(String.format("duration_s=%d concurrency=%d file_size=%d mix=%s%n",
+                durationSeconds, concurrency, fileSize, mix));
+        report.append(String.format("%-24s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "rps", "p50_ms", "p95_ms", "p99_ms"));
+
+        long totalCount = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            long[] latencies = entry.getValue().sorted();
+            totalCount += latencies.length;
+            report.append(String.format("%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), latencies.length, entry.getValue().errors.get(), latencies.length / elapsedSeconds,
+                    percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99)));
+        }
+        report.append(String.format("%-24s %8d %7s %9.1f%n", "total", totalCount, "", totalCount / elapsedSeconds));
+        return report.toString();
+    }
+
+    // nearest-rank 방식, ms 단위
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    /**
+     * 엔드포인트별 지연 시간(ns) 기록
+     */
+    private static final class LatencyRecorder {
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger errors = new AtomicInteger();
+
+        private void record(long nanos, boolean expected) {
+            latencies.add(nanos);
+            if (!expected) {
+                errors.incrementAndGet();
+            }
+        }
+
+        private long[] sorted() {
+            long[] values = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(values);
+            return values;
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.fileextension.proj.service.archive;
+
+import com.fileextension.proj.service.archive.ArchiveInspector.EntryPolicy;
+import com.fileextension.proj.service.archive.ArchiveInspector.Finding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchiveInspectorTest {
+
+    // 이름이 .exe로 끝나거나 내용이 MZ로 시작하면 거부
+    private static final EntryPolicy POLICY = new EntryPolicy() {
+        @Override
+        public int headerLength() {
+            return 8;
+        }
+
+        @Override
+        public String checkName(String entryName) {
+            return entryName.endsWith(".exe") ? "차단된 항목: " + entryName : null;
+        }
+
+        @Override
+        public String checkHeader(String entryName, byte[] header, int length) {
+            return length >= 2 && header[0] == 'M' && header[1] == 'Z' ? "실행 파일 항목: " + entryName : null;
+        }
+    };
+
+    private static final byte[] TEXT = "hello archive".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXECUTABLE = "MZ\u0090\0\u0003\0\0\0".getBytes(StandardCharsets.ISO_8859_1);
+
+    @TempDir
+    Path dir;
+
+    private ArchiveInspector inspector;
+
+    @BeforeEach
+    void setUp() {
+        inspector = new ArchiveInspector();
+        ReflectionTestUtils.setField(inspector, "enabled", true);
+        ReflectionTestUtils.setField(inspector, "maxDepth", 4);
+        ReflectionTestUtils.setField(inspector, "maxEntries", 100);
+        ReflectionTestUtils.setField(inspector, "maxInflatedSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(inspector, "timeout", Duration.ofSeconds(10));
+    }
+
+    @Test
+    void passesPlainZip() throws IOException {
+        byte[] zip = new ZipBuilder()
+                .stored("a.txt", TEXT)
+                .deflated("docs/b.txt", TEXT)
+                .build();
+
+        assertThat(inspect(zip, ArchiveInspector.ZIP)).isNull();
+    }
+
+    @Test
+    void rejectsBlockedNameAndContent() throws IOException {
+        Finding name = inspect(new ZipBuilder().stored("docs/run.exe", TEXT).build(), ArchiveInspector.ZIP);
+        assertThat(name.message()).contains("docs/run.exe");
+        assertThat(name.limitExceeded()).isFalse();
+
+        Finding content = inspect(new ZipBuilder().deflated("readme.txt", EXECUTABLE).build(), ArchiveInspector.ZIP);
+        assertThat(content.message()).contains("실행 파일 항목: readme.txt");
+        assertThat(content.limitExceeded()).isFalse();
+    }
+
+    @Test
+    void readsZip64Records() throws IOException {
+        ZipBuilder clean = new ZipBuilder().zip64().stored("a.txt", TEXT).deflated("b.txt", TEXT);
+        assertThat(inspect(clean.build(), ArchiveInspector.ZIP)).isNull();
+
+        ZipBuilder hidden = new ZipBuilder().zip64().stored("a.txt", TEXT).deflated("b.txt", EXECUTABLE);
+        assertThat(inspect(hidden.build(), ArchiveInspector.ZIP).message()).contains("실행 파일 항목: b.txt");
+    }
+
+    @Test
+    void inspectsZipNestedInTarGz() throws IOException {
+        byte[] inner = javaZip("payload/evil.exe", TEXT);
+        byte[] tarGz = gzip(new TarBuilder().file("readme.txt", TEXT).file("bundle.zip", inner).build());
+
+        Finding finding = inspect(tarGz, ArchiveInspector.GZIP);
+        assertThat(finding.message()).contains("payload/evil.exe");
+        assertThat(finding.limitExceeded()).isFalse();
+
+        byte[] clean = gzip(new TarBuilder().file("bundle.zip", javaZip("payload/notes.txt", TEXT)).build());
+        assertThat(inspect(clean, ArchiveInspector.GZIP)).isNull();
+    }
+
+    @Test
+    void usesTarLongNames() throws IOException {
+        String longPath = "a".repeat(120) + "/payload.exe";
+
+        // GNU 'L' 항목의 이름이 다음 항목 헤더의 잘린 이름 대신 쓰임
+        byte[] gnu = new TarBuilder()
+                .entry("././@LongLink", 'L', (longPath + "\0").getBytes(StandardCharsets.UTF_8))
+                .file("aaaaaaaa.txt", TEXT)
+                .build();
+        assertThat(inspect(gnu, ArchiveInspector.TAR).message()).contains(longPath);
+
+        byte[] pax = new TarBuilder()
+                .entry("PaxHeaders/x", 'x', paxRecord("path", longPath))
+                .file("aaaaaaaa.txt", TEXT)
+                .build();
+        assertThat(inspect(pax, ArchiveInspector.TAR).message()).contains(longPath);
+
+        // 긴 이름은 바로 다음 항목에만 적용
+        byte[] replaced = new TarBuilder()
+                .entry("PaxHeaders/x", 'x', paxRecord("path", "b".repeat(120) + "/notes.txt"))
+                .file("first.exe", TEXT)
+                .build();
+        assertThat(inspect(replaced, ArchiveInspector.TAR)).isNull();
+
+        byte[] next = new TarBuilder()
+                .entry("PaxHeaders/x", 'x', paxRecord("path", "b".repeat(120) + "/notes.txt"))
+                .file("first.txt", TEXT)
+                .file("second.exe", TEXT)
+                .build();
+        assertThat(inspect(next, ArchiveInspector.TAR).message()).contains("second.exe");
+    }
+
+    @Test
+    void rejectsTooManyEntries() throws IOException {
+        ReflectionTestUtils.setField(inspector, "maxEntries", 3);
+
+        ZipBuilder zip = new ZipBuilder();
+        TarBuilder tar = new TarBuilder();
+        for (int i = 0; i < 4; i++) {
+            zip.stored(i + ".txt", TEXT);
+            tar.file(i + ".txt", TEXT);
+        }
+
+        Finding zipFinding = inspect(zip.build(), ArchiveInspector.ZIP);
+        assertThat(zipFinding.message()).contains("항목 수");
+        assertThat(zipFinding.limitExceeded()).isTrue();
+        assertThat(inspect(tar.build(), ArchiveInspector.TAR).message()).contains("항목 수");
+    }
+
+    @Test
+    void rejectsInflatedSizeBomb() throws IOException {
+        ReflectionTestUtils.setField(inspector, "maxInflatedSize", DataSize.ofKilobytes(64));
+        byte[] zeros = new byte[1024 * 1024];
+
+        // TAR 본문을 건너뛰려면 GZIP을 풀어야 함
+        Finding tarGz = inspect(gzip(new TarBuilder().file("zeros.bin", zeros).build()), ArchiveInspector.GZIP);
+        assertThat(tarGz.message()).contains("압축 해제 크기");
+        assertThat(tarGz.limitExceeded()).isTrue();
+
+        // 압축된 중첩 ZIP은 다음 항목까지 풀어야 함
+        byte[] nested = new ZipBuilder().deflated("inner.zip", javaZip("zeros.bin", zeros)).build();
+        assertThat(inspect(nested, ArchiveInspector.ZIP).message()).contains("압축 해제 크기");
+    }
+
+    @Test
+    void rejectsTooDeepNesting() throws IOException {
+        ReflectionTestUtils.setField(inspector, "maxDepth", 2);
+
+        byte[] twoLevels = new ZipBuilder().stored("inner.zip", new ZipBuilder().stored("a.txt", TEXT).build()).build();
+        assertThat(inspect(twoLevels, ArchiveInspector.ZIP)).isNull();
+
+        byte[] threeLevels = new ZipBuilder().stored("outer.zip", twoLevels).build();
+        Finding finding = inspect(threeLevels, ArchiveInspector.ZIP);
+        assertThat(finding.message()).contains("2단계");
+        assertThat(finding.limitExceeded()).isTrue();
+    }
+
+    @Test
+    void rejectsWhenTimeIsUp() throws IOException {
+        ReflectionTestUtils.setField(inspector, "timeout", Duration.ZERO);
+
+        ZipBuilder zip = new ZipBuilder();
+        for (int i = 0; i < 10; i++) {
+            zip.stored(i + ".txt", TEXT);
+        }
+
+        Finding finding = inspect(zip.build(), ArchiveInspector.ZIP);
+        assertThat(finding.message()).contains("시간");
+        assertThat(finding.limitExceeded()).isTrue();
+    }
+
+    @Test
+    void rejectsCorruptEndOfCentralDirectory() throws IOException {
+        byte[] zip = new ZipBuilder().stored("a.txt", TEXT).build();
+
+        // EOCD가 잘린 파일
+        Finding truncated = inspect(Arrays.copyOf(zip, zip.length - 10), ArchiveInspector.ZIP);
+        assertThat(truncated.message()).contains("구조를 확인할 수 없습니다");
+        assertThat(truncated.limitExceeded()).isFalse();
+
+        // 중앙 디렉토리 위치가 파일 밖
+        byte[] outside = zip.clone();
+        writeLittleEndian(outside, outside.length - 6, 0x7FFF_0000L, 4);
+        assertThat(inspect(outside, ArchiveInspector.ZIP).message()).contains("구조를 확인할 수 없습니다");
+
+        assertThat(inspect(new byte[10], ArchiveInspector.ZIP).message()).contains("구조를 확인할 수 없습니다");
+    }
+
+    @Test
+    void rejectsLocalNameDifferentFromCentralDirectory() throws IOException {
+        byte[] zip = new ZipBuilder()
+                .entry("notes.exe", "notes.txt", ZipEntry.STORED, 0, TEXT, false)
+                .build();
+
+        Finding finding = inspect(zip, ArchiveInspector.ZIP);
+        assertThat(finding.message()).contains("로컬 헤더");
+        assertThat(finding.limitExceeded()).isFalse();
+    }
+
+    @Test
+    void inspectsDeflatedEntryWithZeroSizeFields() throws IOException {
+        // 데이터 기술자 플래그를 켜고 크기를 0으로 적어도 deflate 스트림 끝까지 풀어서 검사
+        byte[] zip = new ZipBuilder()
+                .entry("readme.txt", "readme.txt", ZipEntry.DEFLATED, 0x0008, EXECUTABLE, true)
+                .build();
+
+        assertThat(inspect(zip, ArchiveInspector.ZIP).message()).contains("실행 파일 항목: readme.txt");
+    }
+
+    private Finding inspect(byte[] content, String detectedType) throws IOException {
+        Path file = Files.createTempFile(dir, "archive-", ".bin");
+        Files.write(file, content);
+        return inspector.inspect(file, detectedType, POLICY);
+    }
+
+    private static byte[] javaZip(String name, byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(data);
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+            deflater.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    // PAX 레코드: "<레코드 전체 길이> <키>=<값>\n"
+    private static byte[] paxRecord(String key, String value) {
+        String body = " " + key + "=" + value + "\n";
+        int length = body.getBytes(StandardCharsets.UTF_8).length;
+        int total = length + String.valueOf(length).length();
+        if (String.valueOf(total).length() != String.valueOf(length).length()) {
+            total++;
+        }
+        return (total + body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeLittleEndian(ByteArrayOutputStream out, long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            out.write((int) (value >>> (8 * i)));
+        }
+    }
+
+    private static void writeLittleEndian(byte[] target, int offset, long value, int bytes) {
+        for (int i = 0; i < bytes; i++) {
+            target[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /**
+     * 헤더 필드를 직접 적는 ZIP 작성기 (로컬 헤더 위조, ZIP64 레코드를 만들기 위해 사용)
+     */
+    private static final class ZipBuilder {
+        private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream central = new ByteArrayOutputStream();
+        private int count;
+        private boolean zip64;
+
+        ZipBuilder zip64() {
+            zip64 = true;
+            return this;
+        }
+
+        ZipBuilder stored(String name, byte[] data) throws IOException {
+            return entry(name, name, ZipEntry.STORED, 0, data, false);
+        }
+
+        ZipBuilder deflated(String name, byte[] data) throws IOException {
+            return entry(name, name, ZipEntry.DEFLATED, 0, data, false);
+        }
+
+        /**
+         * @param zeroSizes 로컬 헤더와 중앙 디렉토리의 크기 필드를 0으로 적음 (실제 크기는 데이터 기술자에)
+         */
+        ZipBuilder entry(String localName, String centralName, int method, int flags, byte[] data,
+                         boolean zeroSizes) throws IOException {
+            byte[] body = method == ZipEntry.DEFLATED ? deflate(data) : data;
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            long compressedSize = zeroSizes ? 0 : body.length;
+            long uncompressedSize = zeroSizes ? 0 : data.length;
+            long offset = out.size();
+            byte[] local = localName.getBytes(StandardCharsets.UTF_8);
+            byte[] name = centralName.getBytes(StandardCharsets.UTF_8);
+
+            // 로컬 헤더 - ZIP64이면 크기를 확장 필드에 적음
+            writeLittleEndian(out, 0x04034b50, 4);
+            writeLittleEndian(out, zip64 ? 45 : 20, 2);
+            writeLittleEndian(out, flags, 2);
+            writeLittleEndian(out, method, 2);
+            writeLittleEndian(out, 0, 4);
+            writeLittleEndian(out, crc.getValue(), 4);
+            writeLittleEndian(out, zip64 ? ZIP64_MAGIC : compressedSize, 4);
+            writeLittleEndian(out, zip64 ? ZIP64_MAGIC : uncompressedSize, 4);
+            writeLittleEndian(out, local.length, 2);
+            writeLittleEndian(out, zip64 ? 20 : 0, 2);
+            out.write(local);
+            if (zip64) {
+                writeLittleEndian(out, 0x0001, 2);
+                writeLittleEndian(out, 16, 2);
+                writeLittleEndian(out, uncompressedSize, 8);
+                writeLittleEndian(out, compressedSize, 8);
+            }
+            out.write(body);
+            if ((flags & 0x0008) != 0) {
+                writeLittleEndian(out, 0x08074b50, 4);
+                writeLittleEndian(out, crc.getValue(), 4);
+                writeLittleEndian(out, body.length, 4);
+                writeLittleEndian(out, data.length, 4);
+            }
+
+            // 중앙 디렉토리 항목 - ZIP64이면 두 크기와 로컬 헤더 위치를 확장 필드에 적음
+            writeLittleEndian(central, 0x02014b50, 4);
+            writeLittleEndian(central, zip64 ? 45 : 20, 2);
+            writeLittleEndian(central, zip64 ? 45 : 20, 2);
+            writeLittleEndian(central, flags, 2);
+            writeLittleEndian(central, method, 2);
+            writeLittleEndian(central, 0, 4);
+            writeLittleEndian(central, crc.getValue(), 4);
+            writeLittleEndian(central, zip64 ? ZIP64_MAGIC : compressedSize, 4);
+            writeLittleEndian(central, zip64 ? ZIP64_MAGIC : uncompressedSize, 4);
+            writeLittleEndian(central, name.length, 2);
+            writeLittleEndian(central, zip64 ? 28 : 0, 2);
+            writeLittleEndian(central, 0, 2);
+            writeLittleEndian(central, 0, 2);
+            writeLittleEndian(central, 0, 2);
+            writeLittleEndian(central, 0, 4);
+            writeLittleEndian(central, zip64 ? ZIP64_MAGIC : offset, 4);
+            central.write(name);
+            if (zip64) {
+                writeLittleEndian(central, 0x0001, 2);
+                writeLittleEndian(central, 24, 2);
+                writeLittleEndian(central, uncompressedSize, 8);
+                writeLittleEndian(central, compressedSize, 8);
+                writeLittleEndian(central, offset, 8);
+            }
+            count++;
+            return this;
+        }
+
+        byte[] build() throws IOException {
+            long directoryOffset = out.size();
+            long directorySize = central.size();
+            central.writeTo(out);
+
+            if (zip64) {
+                long zip64Offset = out.size();
+                writeLittleEndian(out, 0x06064b50, 4);
+                writeLittleEndian(out, 44, 8);
+                writeLittleEndian(out, 45, 2);
+                writeLittleEndian(out, 45, 2);
+                writeLittleEndian(out, 0, 4);
+                writeLittleEndian(out, 0, 4);
+                writeLittleEndian(out, count, 8);
+                writeLittleEndian(out, count, 8);
+                writeLittleEndian(out, directorySize, 8);
+                writeLittleEndian(out, directoryOffset, 8);
+
+                writeLittleEndian(out, 0x07064b50, 4);
+                writeLittleEndian(out, 0, 4);
+                writeLittleEndian(out, zip64Offset, 8);
+                writeLittleEndian(out, 1, 4);
+            }
+
+            writeLittleEndian(out, 0x06054b50, 4);
+            writeLittleEndian(out, 0, 2);
+            writeLittleEndian(out, 0, 2);
+            writeLittleEndian(out, zip64 ? 0xFFFF : count, 2);
+            writeLittleEndian(out, zip64 ? 0xFFFF : count, 2);
+            writeLittleEndian(out, zip64 ? ZIP64_MAGIC : directorySize, 4);
+            writeLittleEndian(out, zip64 ? ZIP64_MAGIC : directoryOffset, 4);
+            writeLittleEndian(out, 0, 2);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * ustar 형식 TAR 작성기
+     */
+    private static final class TarBuilder {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TarBuilder file(String name, byte[] data) {
+            return entry(name, '0', data);
+        }
+
+        TarBuilder entry(String name, char type, byte[] data) {
+            byte[] header = new byte[512];
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(nameBytes, 0, header, 0, Math.min(nameBytes.length, 100));
+            byte[] size = String.format("%011o", data.length).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(size, 0, header, 124, size.length);
+            header[156] = (byte) type;
+            byte[] magic = "ustar\00000".getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(magic, 0, header, 257, magic.length);
+
+            out.writeBytes(header);
+            out.writeBytes(data);
+            out.writeBytes(new byte[(512 - data.length % 512) % 512]);
+            return this;
+        }
+
+        byte[] build() {
+            out.writeBytes(new byte[1024]);
+            return out.toByteArray();
+        }
+    }
+}
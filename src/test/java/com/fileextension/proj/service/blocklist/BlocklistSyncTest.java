@@ -0,0 +1,128 @@
+package com.fileextension.proj.service.blocklist;
+
+import com.fileextension.proj.ProjApplication;
+import com.fileextension.proj.dto.ExtensionRequestDto;
+import com.fileextension.proj.dto.FixedExtensionDto;
+import com.fileextension.proj.service.ExtensionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 H2 DB를 쓰는 두 애플리케이션 컨텍스트(노드) 사이에 차단 목록 변경이 전파되는지 확인합니다.
+ */
+class BlocklistSyncTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void fixedExtensionToggleReachesOtherNode() {
+        ExtensionService serviceA = nodeA.getBean(ExtensionService.class);
+        ExtensionService serviceB = nodeB.getBean(ExtensionService.class);
+        FixedExtensionDto exe = serviceA.getAllFixedExtensions().stream()
+                .filter(extension -> extension.getExtensionName().equals("exe"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(serviceA.updateFixedExtensionStatus(exe.getId(), true).isSuccess()).isTrue();
+
+        // 변경한 노드는 커밋 직후 바로 반영
+        assertThat(serviceA.isExtensionBlocked("exe")).isTrue();
+        assertThat(awaitTrue(() -> serviceB.isExtensionBlocked("exe"))).isTrue();
+
+        assertThat(serviceB.updateFixedExtensionStatus(exe.getId(), false).isSuccess()).isTrue();
+        assertThat(awaitTrue(() -> !serviceA.isExtensionBlocked("exe"))).isTrue();
+        assertThat(versionOf(nodeA)).isEqualTo(versionOf(nodeB));
+    }
+
+    @Test
+    void customExtensionChangesReachOtherNode() {
+        ExtensionService serviceA = nodeA.getBean(ExtensionService.class);
+        ExtensionService serviceB = nodeB.getBean(ExtensionService.class);
+
+        var added = serviceB.addCustomExtension(ExtensionRequestDto.builder().extensionName("syncx").build());
+        assertThat(added.isSuccess()).isTrue();
+        assertThat(awaitTrue(() -> serviceA.isExtensionBlocked("syncx"))).isTrue();
+
+        assertThat(serviceA.deleteCustomExtension(added.getData().getId()).isSuccess()).isTrue();
+        assertThat(awaitTrue(() -> !serviceB.isExtensionBlocked("syncx"))).isTrue();
+        assertThat(versionOf(nodeA)).isEqualTo(versionOf(nodeB));
+    }
+
+    @Test
+    void nodeBehindChangeLogRetentionReloadsEverything() {
+        BlocklistSnapshotHolder holderB = nodeB.getBean(BlocklistSnapshotHolder.class);
+        BlocklistChangeLog changeLog = nodeA.getBean(BlocklistChangeLog.class);
+        ExtensionService serviceA = nodeA.getBean(ExtensionService.class);
+
+        var added = serviceA.addCustomExtension(ExtensionRequestDto.builder().extensionName("prunex").build());
+        assertThat(added.isSuccess()).isTrue();
+        // 변경 기록을 모두 지워도 버전 차이를 보고 전체를 다시 읽어야 함
+        changeLog.prune(0);
+        holderB.sync();
+
+        assertThat(holderB.current().isBlocked("prunex")).isTrue();
+        assertThat(holderB.current().getVersion()).isEqualTo(changeLog.currentVersion());
+        serviceA.deleteCustomExtension(added.getData().getId());
+    }
+
+    private static ConfigurableApplicationContext startNode() throws IOException {
+        return new SpringApplicationBuilder(ProjApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:blocklist-sync;DB_CLOSE_DELAY=-1",
+                // 두 번째 노드가 기동하면서 테이블을 다시 만들지 않도록
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--file.upload.dir=" + Files.createTempDirectory("blocklist-sync"),
+                "--extension.blocklist.sync-interval-ms=100");
+    }
+
+    private static long versionOf(ConfigurableApplicationContext node) {
+        return node.getBean(BlocklistSnapshotHolder.class).current().getVersion();
+    }
+
+    private static boolean awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,93 @@
+package com.fileextension.proj.service.impl;
+
+import com.fileextension.proj.service.impl.FileDownloadServiceImpl.Region;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileDownloadServiceImplTest {
+
+    private static final long SIZE = 1000;
+    private static final long LAST_MODIFIED = 1_700_000_000_123L;
+    private static final String ETAG = "\"3e8-18bcfe56a7b\"";
+    private static final int MAX_RANGES = 16;
+
+    private static List<Region> ranges(String range, String ifRange) {
+        return FileDownloadServiceImpl.rangesToSend(range, ifRange, ETAG, LAST_MODIFIED, SIZE, MAX_RANGES);
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+
+    @Test
+    void noRangeHeaderSendsWholeFile() {
+        assertThat(ranges(null, null)).isEmpty();
+    }
+
+    @Test
+    void singleRanges() {
+        assertThat(ranges("bytes=0-99", null)).containsExactly(new Region(0, 99));
+        assertThat(ranges("bytes=900-", null)).containsExactly(new Region(900, 999));
+        assertThat(ranges("bytes=-100", null)).containsExactly(new Region(900, 999));
+        // 끝 위치가 파일보다 크면 파일 끝까지
+        assertThat(ranges("bytes=990-5000", null)).containsExactly(new Region(990, 999));
+    }
+
+    @Test
+    void multipleRanges() {
+        assertThat(ranges("bytes=0-9,100-199", null))
+                .containsExactly(new Region(0, 9), new Region(100, 199));
+    }
+
+    @Test
+    void unsatisfiableRanges() {
+        assertThat(ranges("bytes=1000-", null)).isNull();
+        assertThat(ranges("bytes=5000-6000", null)).isNull();
+        assertThat(ranges("bytes=abc", null)).isNull();
+        assertThat(ranges("items=0-9", null)).isNull();
+        // 겹치는 구간으로 파일보다 많이 요청
+        assertThat(ranges("bytes=0-999,0-999", null)).isNull();
+        assertThat(FileDownloadServiceImpl.rangesToSend("bytes=0-9", null, ETAG, LAST_MODIFIED, 0, MAX_RANGES)).isNull();
+    }
+
+    @Test
+    void tooManyRangesAreRejected() {
+        StringBuilder header = new StringBuilder("bytes=");
+        for (int i = 0; i <= MAX_RANGES; i++) {
+            header.append(i == 0 ? "" : ",").append(i * 10).append('-').append(i * 10 + 1);
+        }
+        assertThat(ranges(header.toString(), null)).isNull();
+    }
+
+    @Test
+    void staleIfRangeSendsWholeFile() {
+        assertThat(ranges("bytes=0-99", ETAG)).containsExactly(new Region(0, 99));
+        assertThat(ranges("bytes=0-99", "\"other\"")).isEmpty();
+        assertThat(ranges("bytes=0-99", httpDate(LAST_MODIFIED - 60_000))).isEmpty();
+    }
+
+    @Test
+    void ifRangeMatchesEtag() {
+        assertThat(FileDownloadServiceImpl.ifRangeMatches(null, ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(FileDownloadServiceImpl.ifRangeMatches(" ", ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(FileDownloadServiceImpl.ifRangeMatches(ETAG, ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(FileDownloadServiceImpl.ifRangeMatches(" " + ETAG + " ", ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(FileDownloadServiceImpl.ifRangeMatches("\"other\"", ETAG, LAST_MODIFIED)).isFalse();
+        // 약한 ETag는 Range에 쓸 수 없음
+        assertThat(FileDownloadServiceImpl.ifRangeMatches("W/" + ETAG, ETAG, LAST_MODIFIED)).isFalse();
+    }
+
+    @Test
+    void ifRangeMatchesDateToTheSecond() {
+        assertThat(FileDownloadServiceImpl.ifRangeMatches(httpDate(LAST_MODIFIED), ETAG, LAST_MODIFIED)).isTrue();
+        assertThat(FileDownloadServiceImpl.ifRangeMatches(httpDate(LAST_MODIFIED + 1000), ETAG, LAST_MODIFIED)).isFalse();
+        assertThat(FileDownloadServiceImpl.ifRangeMatches("yesterday", ETAG, LAST_MODIFIED)).isFalse();
+    }
+}
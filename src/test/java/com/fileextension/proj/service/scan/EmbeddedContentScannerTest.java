@@ -0,0 +1,153 @@
+package com.fileextension.proj.service.scan;
+
+import com.fileextension.proj.service.scan.EmbeddedContentScanner.Finding;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddedContentScannerTest {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    // 순차 검사에서 버퍼 뒤로 더 읽는 길이 (PE 헤더 최대 위치 + 4)
+    private static final int LOOKAHEAD = 0x400 + 4;
+
+    private static final byte[] SCRIPT = "<SCRIPT>alert(1)</script>".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ELF = {0x7F, 'E', 'L', 'F', 2, 1, 1, 0};
+
+    @TempDir
+    Path dir;
+
+    private EmbeddedContentScanner scanner;
+
+    @BeforeEach
+    void setUp() {
+        scanner = new EmbeddedContentScanner();
+        ReflectionTestUtils.setField(scanner, "enabled", true);
+        ReflectionTestUtils.setField(scanner, "parallelThreshold", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(scanner, "segmentSize", DataSize.ofBytes(SEGMENT_SIZE));
+        ReflectionTestUtils.setField(scanner, "bufferSize", DataSize.ofBytes(BUFFER_SIZE));
+        ReflectionTestUtils.setField(scanner, "parallelism", 2);
+        scanner.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scanner.shutdown();
+    }
+
+    @Test
+    void findsPayloadAcrossSequentialBufferBoundary() throws IOException {
+        // 1MB 미만이므로 고정 크기 버퍼로 순차 검사
+        int size = 256 * 1024;
+        int[] offsets = {
+                BUFFER_SIZE - 1,
+                BUFFER_SIZE - 2,
+                BUFFER_SIZE + LOOKAHEAD - 3,
+                2 * BUFFER_SIZE - 0x40,
+                size - SCRIPT.length
+        };
+        for (int offset : offsets) {
+            assertThat(scan(withPayload(size, offset, SCRIPT))).isEqualTo(new Finding("js", offset));
+            assertThat(scan(withPayload(size, offset - 0x84, peHeader())))
+                    .isEqualTo(new Finding(EmbeddedContentScanner.EXECUTABLE, offset - 0x84));
+        }
+    }
+
+    @Test
+    void findsPayloadAcrossParallelSegmentBoundary() throws IOException {
+        // 임계값보다 크게 만들어 구간별 병렬 검사로 진행
+        ReflectionTestUtils.setField(scanner, "parallelThreshold", DataSize.ofKilobytes(64));
+        int size = 8 * SEGMENT_SIZE;
+        int[] offsets = {
+                SEGMENT_SIZE - 1,
+                3 * SEGMENT_SIZE - 2,
+                4 * SEGMENT_SIZE - ELF.length + 1,
+                5 * SEGMENT_SIZE + BUFFER_SIZE - 3
+        };
+        for (int offset : offsets) {
+            assertThat(scan(withPayload(size, offset, ELF)))
+                    .isEqualTo(new Finding(EmbeddedContentScanner.EXECUTABLE, offset));
+            assertThat(scan(withPayload(size, offset, SCRIPT))).isEqualTo(new Finding("js", offset));
+            // MZ는 앞 구간, PE 시그니처는 다음 구간에 있음
+            assertThat(scan(withPayload(size, offset - 0x40, peHeader())))
+                    .isEqualTo(new Finding(EmbeddedContentScanner.EXECUTABLE, offset - 0x40));
+        }
+    }
+
+    @Test
+    void reportsFirstPayloadWhenSeveralSegmentsMatch() throws IOException {
+        ReflectionTestUtils.setField(scanner, "parallelThreshold", DataSize.ofKilobytes(64));
+        byte[] content = randomBytes(8 * SEGMENT_SIZE, 7);
+        System.arraycopy(SCRIPT, 0, content, 6 * SEGMENT_SIZE + 10, SCRIPT.length);
+        System.arraycopy(ELF, 0, content, 2 * SEGMENT_SIZE + 10, ELF.length);
+
+        assertThat(scan(content)).isEqualTo(new Finding(EmbeddedContentScanner.EXECUTABLE, 2 * SEGMENT_SIZE + 10));
+    }
+
+    @Test
+    void randomDataHasNoMatch() throws IOException {
+        byte[] content = randomBytes(4 * 1024 * 1024, 42);
+
+        // 순차 검사
+        assertThat(scan(content)).isNull();
+        // 병렬 검사
+        ReflectionTestUtils.setField(scanner, "parallelThreshold", DataSize.ofKilobytes(64));
+        assertThat(scan(content)).isNull();
+    }
+
+    @Test
+    void skipsWhenNothingIsBlocked() throws IOException {
+        byte[] content = withPayload(64 * 1024, 100, SCRIPT);
+        Path file = write(content);
+
+        assertThat(scanner.scan(file, content.length, type -> false, true)).isNull();
+        // 텍스트 파일은 실행 파일 헤더만 찾음
+        assertThat(scanner.scan(file, content.length, type -> true, false)).isNull();
+    }
+
+    private Finding scan(byte[] content) throws IOException {
+        return scanner.scan(write(content), content.length, type -> true, true);
+    }
+
+    private Path write(byte[] content) throws IOException {
+        Path file = Files.createTempFile(dir, "scan-", ".bin");
+        Files.write(file, content);
+        return file;
+    }
+
+    // 시그니처가 없는 바이트(0) 사이에 payload를 넣음
+    private static byte[] withPayload(int size, int offset, byte[] payload) {
+        byte[] content = new byte[size];
+        System.arraycopy(payload, 0, content, offset, payload.length);
+        return content;
+    }
+
+    private static byte[] randomBytes(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+
+    // MZ 헤더 + e_lfanew(0x80) 위치의 PE 시그니처
+    private static byte[] peHeader() {
+        byte[] header = new byte[0x84];
+        header[0] = 'M';
+        header[1] = 'Z';
+        header[0x3C] = (byte) 0x80;
+        header[0x80] = 'P';
+        header[0x81] = 'E';
+        return header;
+    }
+}
@@ -0,0 +1,171 @@
+package com.fileextension.proj.service.signature;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MagicSignatureTableTest {
+
+    @Test
+    void parsesHexQuotedStringsAndComments() throws IOException {
+        MagicSignatureTable table = parse("""
+                # 주석만 있는 줄
+
+                png   0 89504E47          # 끝 주석
+                note  0 "a # b"           # 따옴표 안의 #은 주석이 아님
+                RIFF  0 "RIFF" 8 "WEBP"
+                """);
+
+        assertThat(table.getSignatureCount()).isEqualTo(3);
+        assertThat(detect(table, bytes(0x89, 'P', 'N', 'G'))).isEqualTo("png");
+        assertThat(detect(table, "a # b".getBytes(StandardCharsets.US_ASCII))).isEqualTo("note");
+        // type은 소문자로 저장
+        assertThat(detect(table, "RIFF\0\0\0\0WEBP".getBytes(StandardCharsets.US_ASCII))).isEqualTo("riff");
+        assertThat(detect(table, "RIFF\0\0\0\0WAVE".getBytes(StandardCharsets.US_ASCII))).isEqualTo("");
+    }
+
+    @Test
+    void wildcardMatchesAnyByte() throws IOException {
+        MagicSignatureTable table = parse("bmp 0 \"BM\" 6 ??00");
+
+        assertThat(detect(table, bytes('B', 'M', 1, 2, 3, 4, 0x7F, 0))).isEqualTo("bmp");
+        assertThat(detect(table, bytes('B', 'M', 1, 2, 3, 4, 0x7F, 1))).isEqualTo("");
+    }
+
+    @Test
+    void earlierLineWinsAcrossOffsets() throws IOException {
+        MagicSignatureTable table = parse("""
+                tar   257 "ustar"
+                zip   0 504B
+                any   0 50
+                """);
+        byte[] header = new byte[262];
+        header[0] = 'P';
+        header[1] = 'K';
+        System.arraycopy("ustar".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 5);
+
+        assertThat(detect(table, header)).isEqualTo("tar");
+        // 257 위치까지 읽지 못하면 다음 후보
+        assertThat(table.detect(header, 100)).isEqualTo("zip");
+        assertThat(detect(table, bytes('P', 'X'))).isEqualTo("any");
+        assertThat(table.getHeaderLength()).isEqualTo(262);
+    }
+
+    @Test
+    void indirectOffsetReadsLittleEndianPosition() throws IOException {
+        MagicSignatureTable table = parse("""
+                pe  0 4D5A @0x3C:le32 50450000
+                ne  0 4D5A @0x3C:le16 "NE"
+                mz  0 4D5A
+                """);
+        byte[] pe = new byte[0x90];
+        pe[0] = 'M';
+        pe[1] = 'Z';
+        pe[0x3C] = (byte) 0x80;
+        pe[0x80] = 'P';
+        pe[0x81] = 'E';
+
+        assertThat(detect(table, pe)).isEqualTo("pe");
+        assertThat(table.getHeaderLength()).isEqualTo(MagicSignatureTable.MAX_INDIRECT_OFFSET);
+
+        byte[] ne = pe.clone();
+        ne[0x3D] = 0;
+        ne[0x3E] = 1;
+        ne[0x80] = 'N';
+        ne[0x81] = 'E';
+        // le32로 읽으면 0x10080이라 헤더 밖, le16으로 읽으면 0x80
+        assertThat(detect(table, ne)).isEqualTo("ne");
+    }
+
+    @Test
+    void indirectOffsetOutsideHeaderDoesNotMatch() throws IOException {
+        MagicSignatureTable table = parse("""
+                pe  0 4D5A @0x3C:le32 50450000
+                mz  0 4D5A
+                """);
+        byte[] header = new byte[0x40];
+        header[0] = 'M';
+        header[1] = 'Z';
+        header[0x3C] = (byte) 0xFF;
+        header[0x3D] = (byte) 0xFF;
+        header[0x3E] = (byte) 0xFF;
+        header[0x3F] = (byte) 0x7F;
+
+        assertThat(detect(table, header)).isEqualTo("mz");
+        // 간접 offset 자체를 읽을 수 없는 짧은 헤더
+        assertThat(detect(table, bytes('M', 'Z', 0))).isEqualTo("mz");
+    }
+
+    @Test
+    void shortHeadersNeverReadPastLength() throws IOException {
+        MagicSignatureTable table = parse("gif 0 \"GIF89a\"");
+        byte[] header = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+
+        assertThat(table.detect(header, 5)).isEqualTo("");
+        assertThat(table.detect(header, 0)).isEqualTo("");
+        assertThat(table.detect(header, 6)).isEqualTo("gif");
+    }
+
+    @Test
+    void invalidDefinitionsReportLineNumber() {
+        assertThatThrownBy(() -> parse("ok 0 FF\nbad 0"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2행");
+        assertThatThrownBy(() -> parse("odd 0 ABC"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("두 자리");
+        assertThatThrownBy(() -> parse("open 0 \"abc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("닫히지 않은");
+        assertThatThrownBy(() -> parse("ind @0x3C:le32 5045"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("첫 번째 조건");
+        assertThatThrownBy(() -> parse("wild 0 ??50"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("첫 번째 조건");
+        assertThatThrownBy(() -> parse("width 0 4D5A @0x3C:be32 5045"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("be32");
+    }
+
+    @Test
+    void builtInTableDetectsCommonFormats() {
+        MagicSignatureTable table = MagicSignatureTable.builtIn();
+
+        assertThat(table.getSignatureCount()).isGreaterThan(20);
+        assertThat(detect(table, bytes(0xFF, 0xD8, 0xFF, 0xE0))).isEqualTo("jpg");
+        assertThat(detect(table, bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A))).isEqualTo("png");
+        assertThat(detect(table, "%PDF-1.7".getBytes(StandardCharsets.US_ASCII))).isEqualTo("pdf");
+        assertThat(detect(table, bytes('P', 'K', 3, 4))).isEqualTo("zip");
+        assertThat(detect(table, bytes(0x1F, 0x8B, 8))).isEqualTo("gz");
+        assertThat(detect(table, bytes(0x7F, 'E', 'L', 'F', 2))).isEqualTo("exe");
+        assertThat(detect(table, bytes('M', 'Z', 0x90, 0))).isEqualTo("exe");
+        assertThat(detect(table, "#!/bin/sh".getBytes(StandardCharsets.US_ASCII))).isEqualTo("exe");
+        assertThat(detect(table, "plain text".getBytes(StandardCharsets.US_ASCII))).isEqualTo("");
+
+        byte[] tar = new byte[512];
+        System.arraycopy("ustar".getBytes(StandardCharsets.US_ASCII), 0, tar, 257, 5);
+        assertThat(detect(table, tar)).isEqualTo("tar");
+    }
+
+    private static MagicSignatureTable parse(String definition) throws IOException {
+        return MagicSignatureTable.parse(new ByteArrayInputStream(definition.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String detect(MagicSignatureTable table, byte[] header) {
+        return table.detect(header, header.length);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}